@@ -0,0 +1,93 @@
+package com.ecobank.core;
+
+import com.ecobank.core.dto.TransactionInput;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.AuthenticatedUser;
+import com.ecobank.core.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports rows transactions for one user, before batching (one createTransaction call
+ * per row, as the card-feed importer did) and after (one createTransactions call).
+ * Each invocation is a whole import, timed once, so the score is the import's wall time.
+ *
+ * Needs the database from docker-compose (or DB_URL/DB_USERNAME/DB_PASSWORD) with at
+ * least one user, and writes transactions into the first one. Excluded by default; run with:
+ * mvn -Pbenchmark verify -Djmh.includes=BatchIngestionBenchmark -Djmh.excludes=^$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BatchIngestionBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private List<TransactionInput> inputs;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(CoreApplication.class);
+        application.setDefaultProperties(Map.of("server.port", "0", "spring.jpa.show-sql", "false"));
+        context = application.run();
+
+        transactionService = context.getBean(TransactionService.class);
+        List<User> users = context.getBean(UserRepository.class).findAll();
+        if (users.isEmpty()) {
+            throw new IllegalStateException("The benchmark needs at least one user in the database");
+        }
+        User user = users.get(0);
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        inputs = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            TransactionInput input = new TransactionInput();
+            input.setAmount(BigDecimal.valueOf(random.nextInt(100, 20_000), 2));
+            input.setCategory(random.nextBoolean() ? "FOOD" : "TRANSPORT");
+            input.setMerchant("Batch import");
+            inputs.add(input);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public void perRow(Blackhole blackhole) {
+        for (TransactionInput input : inputs) {
+            blackhole.consume(transactionService.createTransaction(input));
+        }
+    }
+
+    @Benchmark
+    public List<Transaction> batched() {
+        return transactionService.createTransactions(inputs);
+    }
+}
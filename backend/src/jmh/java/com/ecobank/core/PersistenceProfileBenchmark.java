@@ -0,0 +1,122 @@
+package com.ecobank.core;
+
+import com.ecobank.core.dto.Dashboard;
+import com.ecobank.core.dto.TransactionConnection;
+import com.ecobank.core.dto.TransactionInput;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.AuthenticatedUser;
+import com.ecobank.core.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the persistence settings: boots the application once with the
+ * default (development) configuration and once with the prod profile, then drives
+ * a mixed read/write workload from many threads against a real Postgres.
+ *
+ * Needs the database from docker-compose (or DB_URL/DB_USERNAME/DB_PASSWORD) with
+ * at least one user, and writes transactions into it. It is excluded from the
+ * default benchmark run; run it with:
+ * mvn -Pbenchmark verify -Djmh.includes=PersistenceProfileBenchmark -Djmh.excludes=^$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(CoreApplication.class);
+        if (!"default".equals(profile)) {
+            application.setAdditionalProfiles(profile);
+        }
+        application.setDefaultProperties(Map.of("server.port", "0"));
+        context = application.run();
+
+        transactionService = context.getBean(TransactionService.class);
+        users = context.getBean(UserRepository.class).findAll();
+        if (users.isEmpty()) {
+            throw new IllegalStateException("The load test needs at least one user in the database");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+
+        User user;
+
+        @Setup(Level.Trial)
+        public void authenticate(PersistenceProfileBenchmark benchmark) {
+            user = benchmark.users.get(ThreadLocalRandom.current().nextInt(benchmark.users.size()));
+            AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(),
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        }
+    }
+
+    @Benchmark
+    public Dashboard getDashboard(Caller caller) {
+        return transactionService.getDashboard(caller.user.getId());
+    }
+
+    @Benchmark
+    public TransactionConnection getTransactionsPage(Caller caller) {
+        return transactionService.getUserTransactionsConnection(caller.user.getId(), 20, null);
+    }
+
+    @Benchmark
+    public Transaction createTransaction() {
+        return transactionService.createTransaction(input(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Transaction> createTransactions() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<TransactionInput> inputs = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            inputs.add(input(random));
+        }
+        return transactionService.createTransactions(inputs);
+    }
+
+    private static TransactionInput input(ThreadLocalRandom random) {
+        TransactionInput input = new TransactionInput();
+        input.setAmount(BigDecimal.valueOf(random.nextInt(100, 20_000), 2));
+        input.setCategory(random.nextBoolean() ? "FOOD" : "TRANSPORT");
+        input.setMerchant("Load test");
+        return input;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecobank.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of concurrent requests on Tomcat's default 200 platform
+ * threads versus one virtual thread per request, at a fixed 256 MB heap.
+ * Each request waits on an upstream call outside the database, then holds one of
+ * 21 pooled connections (a Hikari pool sized for 10 cores) for its query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+public class RequestCapacityBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int POOL_SIZE = 21;
+    private static final long UPSTREAM_MILLIS = 50;
+    private static final long QUERY_MILLIS = 1;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"10000"})
+    public int requests;
+
+    private Semaphore connectionPool;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        connectionPool = new Semaphore(POOL_SIZE, true);
+    }
+
+    @Benchmark
+    public void serveBurst() {
+        try (ExecutorService executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)) {
+            for (int i = 0; i < requests; i++) {
+                executor.submit(this::handleRequest);
+            }
+        }
+    }
+
+    private Void handleRequest() throws InterruptedException {
+        Thread.sleep(UPSTREAM_MILLIS);
+        connectionPool.acquire();
+        try {
+            Thread.sleep(QUERY_MILLIS);
+        } finally {
+            connectionPool.release();
+        }
+        return null;
+    }
+}
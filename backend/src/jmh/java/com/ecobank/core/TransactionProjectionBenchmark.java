@@ -0,0 +1,172 @@
+package com.ecobank.core;
+
+import com.ecobank.core.dto.TransactionView;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.TransactionRepository;
+import com.ecobank.core.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a 5,000-row transaction list the way getUserTransactions used to (managed
+ * entities in a read-write transaction, flushed and dirty-checked at commit) and as
+ * TransactionView projections for a narrow and a full GraphQL selection. Each benchmark
+ * reads the fields GraphQL would serialize. Run with the default gc profiler to compare
+ * gc.alloc.rate.norm. firstPage and deepPage time one keyset page at either end of the list.
+ *
+ * Needs the database from docker-compose (or DB_URL/DB_USERNAME/DB_PASSWORD) with at least
+ * one user; the first user is topped up to 5,000 transactions. Excluded by default; run with:
+ * mvn -Pbenchmark verify -Djmh.includes=TransactionProjectionBenchmark -Djmh.excludes=^$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionProjectionBenchmark {
+
+    private static final int ROWS = 5_000;
+    private static final int PAGE_SIZE = 20;
+    private static final List<String> NARROW_FIELDS = List.of("id", "amount", "category", "transactionDate");
+    private static final List<String> ALL_FIELDS = List.of("id", "user", "amount", "currency", "category",
+            "merchant", "description", "carbonFootprint", "transactionDate", "createdAt", "updatedAt");
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private UUID userId;
+    private Transaction deepCursor;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(CoreApplication.class);
+        application.setDefaultProperties(Map.of("server.port", "0", "spring.jpa.show-sql", "false"));
+        context = application.run();
+
+        transactionRepository = context.getBean(TransactionRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<User> users = context.getBean(UserRepository.class).findAll();
+        if (users.isEmpty()) {
+            throw new IllegalStateException("The benchmark needs at least one user in the database");
+        }
+        User user = users.get(0);
+        userId = user.getId();
+        seed(user);
+
+        // The cursor a client holds after paging through all but the last page
+        List<Transaction> skipped = readOnly.execute(status ->
+                transactionRepository.findPageByUserId(userId, PageRequest.ofSize(ROWS - PAGE_SIZE)));
+        deepCursor = skipped.get(skipped.size() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entities(Blackhole blackhole) {
+        readWrite.executeWithoutResult(status -> {
+            for (Transaction t : transactionRepository.findPageByUserId(userId, PageRequest.ofSize(ROWS))) {
+                blackhole.consume(t.getId());
+                blackhole.consume(t.getUser().getId());
+                blackhole.consume(t.getAmount());
+                blackhole.consume(t.getCurrency());
+                blackhole.consume(t.getCategory());
+                blackhole.consume(t.getMerchant());
+                blackhole.consume(t.getDescription());
+                blackhole.consume(t.getCarbonFootprint());
+                blackhole.consume(t.getTransactionDate());
+                blackhole.consume(t.getCreatedAt());
+                blackhole.consume(t.getUpdatedAt());
+            }
+        });
+    }
+
+    @Benchmark
+    public void projectionAllFields(Blackhole blackhole) {
+        readOnly.executeWithoutResult(status -> {
+            for (TransactionView v : transactionRepository.findViewsByUserId(userId, null, ALL_FIELDS, ROWS)) {
+                blackhole.consume(v.getId());
+                blackhole.consume(v.getUserId());
+                blackhole.consume(v.getAmount());
+                blackhole.consume(v.getCurrency());
+                blackhole.consume(v.getCategory());
+                blackhole.consume(v.getMerchant());
+                blackhole.consume(v.getDescription());
+                blackhole.consume(v.getCarbonFootprint());
+                blackhole.consume(v.getTransactionDate());
+                blackhole.consume(v.getCreatedAt());
+                blackhole.consume(v.getUpdatedAt());
+            }
+        });
+    }
+
+    @Benchmark
+    public void projectionNarrowFields(Blackhole blackhole) {
+        readOnly.executeWithoutResult(status -> {
+            for (TransactionView v : transactionRepository.findViewsByUserId(userId, null, NARROW_FIELDS, ROWS)) {
+                blackhole.consume(v.getId());
+                blackhole.consume(v.getAmount());
+                blackhole.consume(v.getCategory());
+                blackhole.consume(v.getTransactionDate());
+            }
+        });
+    }
+
+    /**
+     * Keyset pages should cost the same at any depth; compare with deepPage.
+     */
+    @Benchmark
+    public List<Transaction> firstPage() {
+        return readOnly.execute(status ->
+                transactionRepository.findPageByUserId(userId, PageRequest.ofSize(PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public List<Transaction> deepPage() {
+        return readOnly.execute(status -> transactionRepository.findPageByUserIdAfter(userId,
+                deepCursor.getTransactionDate(), deepCursor.getId(), PageRequest.ofSize(PAGE_SIZE)));
+    }
+
+    private void seed(User user) {
+        int existing = transactionRepository.findPageByUserId(userId, PageRequest.ofSize(ROWS)).size();
+        if (existing >= ROWS) {
+            return;
+        }
+        List<Transaction> transactions = new ArrayList<>(ROWS - existing);
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = existing; i < ROWS; i++) {
+            transactions.add(Transaction.builder()
+                    .user(user)
+                    .amount(BigDecimal.valueOf(100 + i % 20_000, 2))
+                    .category(i % 2 == 0 ? "FOOD" : "TRANSPORT")
+                    .merchant("Benchmark merchant " + i % 50)
+                    .description("Projection benchmark row")
+                    .carbonFootprint(BigDecimal.valueOf(50 + i % 900, 2))
+                    .transactionDate(now.minusMinutes(i))
+                    .build());
+        }
+        readWrite.executeWithoutResult(status -> transactionRepository.insertInBatches(transactions));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecobank.core.config;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.scalars.ExtendedScalars;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of executing the app's transaction list query against the real schema with
+ * empty results, so what remains is parse, validate and execution bookkeeping.
+ * "none" parses and validates every request, "text" caches by query text and
+ * "persisted" sends only the SHA-256 of a query the server has already seen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentCacheBenchmark {
+
+    // Sent by the Flutter TransactionService
+    private static final String QUERY = """
+            query GetTransactions($userId: UUID!) {
+              getUserTransactions(userId: $userId) {
+                id
+                amount
+                currency
+                category
+                merchant
+                description
+                carbonFootprint
+                transactionDate
+                createdAt
+              }
+            }
+            """;
+
+    @Param({"none", "text", "persisted"})
+    public String cache;
+
+    private GraphQL graphQL;
+    private ExecutionInput input;
+
+    @Setup
+    public void setUp() throws IOException, NoSuchAlgorithmException {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .scalar(ExtendedScalars.UUID)
+                .scalar(ExtendedScalars.GraphQLBigDecimal)
+                .scalar(ExtendedScalars.DateTime)
+                .type("Query", builder -> builder.dataFetcher("getUserTransactions", env -> List.of()))
+                .build();
+        GraphQL.Builder builder;
+        try (Reader schema = new InputStreamReader(
+                new ClassPathResource("graphql/schema.graphqls").getInputStream(), StandardCharsets.UTF_8)) {
+            builder = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(
+                    new SchemaParser().parse(schema), wiring));
+        }
+        if (!"none".equals(cache)) {
+            builder.preparsedDocumentProvider(new GraphQLDocumentCache(new SimpleMeterRegistry(), 500));
+        }
+        graphQL = builder.build();
+
+        Map<String, Object> variables = Map.of("userId", UUID.randomUUID().toString());
+        input = ExecutionInput.newExecutionInput(QUERY).variables(variables).build();
+        if ("persisted".equals(cache)) {
+            String hash = HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(QUERY.getBytes(StandardCharsets.UTF_8)));
+            Map<String, Object> extensions = Map.of(GraphQLDocumentCache.PERSISTED_QUERY_EXTENSION,
+                    Map.of("version", 1, "sha256Hash", hash));
+            // The first request registers the text, later ones carry only the hash
+            graphQL.execute(ExecutionInput.newExecutionInput(QUERY).variables(variables).extensions(extensions));
+            input = ExecutionInput.newExecutionInput("PersistedQueryMarker")
+                    .variables(variables).extensions(extensions).build();
+        }
+        ExecutionResult check = graphQL.execute(input);
+        if (!check.getErrors().isEmpty()) {
+            throw new IllegalStateException(check.getErrors().toString());
+        }
+    }
+
+    @Benchmark
+    public ExecutionResult execute() {
+        return graphQL.execute(input);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecobank.core.security;
+
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the original validate-then-parse token handling (new key and parser
+ * per call, two signature checks) against the single cached parse, both alone
+ * and through the authentication filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+EnableDynamicAgentLoading")
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+    private FilterChain chain;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheMaxSize", 10_000L);
+        jwtTokenProvider.init();
+        token = jwtTokenProvider.generateToken("bench@example.com");
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findByEmail("bench@example.com")).thenReturn(Optional.of(
+                User.builder().id(UUID.randomUUID()).email("bench@example.com").build()));
+        PrincipalCache principalCache = new PrincipalCache(
+                userRepository, new SimpleMeterRegistry(), Duration.ofMinutes(5), 10_000);
+
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, principalCache);
+        chain = (request, response) -> { };
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        // Mirrors the pre-cache provider: validateToken followed by getUsernameFromToken
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token);
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public Optional<Claims> parseClaims() {
+        return jwtTokenProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object authenticationFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecobank.core.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a write request while 256 clients log in as fast as they can, on Tomcat's
+ * 200 request threads. "inline" verifies BCrypt on the request thread, as login did through
+ * the AuthenticationManager; "isolated" hands it to PasswordHasher and frees the thread, as
+ * the async login mutation does. "none" is the write path without a spike. Compare the
+ * p0.99 rows of the sample-time output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoginSpikeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int LOGIN_CLIENTS = 256;
+    private static final int BCRYPT_STRENGTH = 10;
+    // Half the cores, so hashing never takes all of them
+    private static final int HASHING_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final long RETRY_AFTER_REJECTION_MILLIS = 10;
+
+    @Param({"none", "inline", "isolated"})
+    public String login;
+
+    private ExecutorService requestThreads;
+    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    private String storedHash;
+    private byte[] payload;
+    private volatile boolean spiking;
+    private final List<Thread> clients = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestThreads = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        passwordEncoder = new BCryptPasswordEncoder(BCRYPT_STRENGTH);
+        passwordHasher = new PasswordHasher(passwordEncoder, BCRYPT_STRENGTH, HASHING_THREADS, 64);
+        storedHash = passwordEncoder.encode("password123");
+        payload = "transaction".repeat(400).getBytes(StandardCharsets.UTF_8);
+
+        if (!"none".equals(login)) {
+            spiking = true;
+            for (int i = 0; i < LOGIN_CLIENTS; i++) {
+                Thread client = new Thread(this::loginUntilStopped, "login-client-" + i);
+                client.setDaemon(true);
+                client.start();
+                clients.add(client);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        spiking = false;
+        for (Thread client : clients) {
+            client.join();
+        }
+        requestThreads.shutdownNow();
+        passwordHasher.destroy();
+    }
+
+    @Benchmark
+    public byte[] writeTransaction() throws ExecutionException, InterruptedException {
+        return requestThreads.submit(this::handleWrite).get();
+    }
+
+    // The CPU part of a transaction write: validation, carbon calculation and the leaf hash
+    private byte[] handleWrite() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = payload;
+        for (int i = 0; i < 8; i++) {
+            digest.update(payload);
+            hash = digest.digest(hash);
+        }
+        return hash;
+    }
+
+    private void loginUntilStopped() {
+        while (spiking) {
+            try {
+                if ("inline".equals(login)) {
+                    requestThreads.submit(() -> passwordEncoder.matches("password123", storedHash)).get();
+                } else {
+                    requestThreads.submit(() -> passwordHasher.verify("password123", storedHash)).get().join();
+                }
+            } catch (RuntimeException e) {
+                sleepQuietly(RETRY_AFTER_REJECTION_MILLIS);
+            } catch (InterruptedException | ExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
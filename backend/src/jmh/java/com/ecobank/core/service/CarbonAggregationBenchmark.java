@@ -0,0 +1,102 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.CategoryBreakdown;
+import com.ecobank.core.dto.MonthlySummary;
+import com.ecobank.core.entity.MonthlyCarbonLedger;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.TransactionRepository;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.PrincipalCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures the in-JVM work of the aggregation read paths. Repositories are
+ * stub-only mocks, so the numbers exclude database time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+EnableDynamicAgentLoading")
+public class CarbonAggregationBenchmark {
+
+    @Param({"14", "100"})
+    public int categories;
+
+    private TransactionService transactionService;
+    private UserService userService;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        userId = UUID.randomUUID();
+        User user = User.builder().id(userId).email("bench@example.com").build();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < categories; i++) {
+            rows.add(new Object[]{
+                "CATEGORY_" + i,
+                BigDecimal.valueOf(1000 + i * 113L, 2),
+                BigDecimal.valueOf(5000 + i * 271L, 2),
+                (long) (i + 1)
+            });
+        }
+
+        TransactionRepository transactionRepository = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(transactionRepository.getCategoryBreakdown(userId)).thenReturn(rows);
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CarbonLedgerService carbonLedgerService = mock(CarbonLedgerService.class, withSettings().stubOnly());
+        when(carbonLedgerService.getMonthlyCarbon(any(UUID.class), any(YearMonth.class)))
+                .thenReturn(new BigDecimal("62.40"));
+        when(carbonLedgerService.getTotalCarbon(userId)).thenReturn(new BigDecimal("1834.75"));
+        // A heavy user: the ledger row stands in for tens of thousands of transactions
+        when(carbonLedgerService.getMonth(any(UUID.class), any(YearMonth.class))).thenReturn(Optional.of(
+                MonthlyCarbonLedger.builder()
+                        .userId(userId)
+                        .totalCarbon(new BigDecimal("18340.75"))
+                        .totalAmount(new BigDecimal("52400.00"))
+                        .transactionCount(50_000)
+                        .build()));
+
+        userService = new UserService(userRepository, carbonLedgerService,
+                mock(PrincipalCache.class, withSettings().stubOnly()),
+                mock(UserStatsCache.class, withSettings().stubOnly()));
+        transactionService = new TransactionService(transactionRepository, userService,
+                mock(CarbonCalculatorService.class, withSettings().stubOnly()),
+                mock(BlockchainService.class, withSettings().stubOnly()),
+                carbonLedgerService,
+                mock(TransactionEventBus.class, withSettings().stubOnly()),
+                mock(UserStatsCache.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public List<CategoryBreakdown> getCategoryBreakdownList() {
+        return transactionService.getCategoryBreakdownList(userId);
+    }
+
+    @Benchmark
+    public MonthlySummary getMonthlySummary() {
+        return transactionService.getMonthlySummary(userId, 2026, 3);
+    }
+
+    @Benchmark
+    public void updateUserEcoScore() {
+        userService.updateUserEcoScore(userId);
+    }
+}
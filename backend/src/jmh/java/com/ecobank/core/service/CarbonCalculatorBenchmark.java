@@ -0,0 +1,70 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.entity.CarbonFactor;
+import com.ecobank.core.repository.CarbonFactorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+EnableDynamicAgentLoading")
+public class CarbonCalculatorBenchmark {
+
+    private static final String[] CATEGORIES = {
+        "FOOD", "TRANSPORT", "SHOPPING", "ENERGY", "SERVICES", "ENTERTAINMENT", "TRAVEL",
+        "HEALTHCARE", "EDUCATION", "TECHNOLOGY", "FASHION", "HOME", "GREEN", "OTHER"
+    };
+
+    private CarbonCalculatorService carbonCalculatorService;
+    private Map<String, BigDecimal> snapshot;
+    private BigDecimal[] amounts;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        List<CarbonFactor> factors = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            factors.add(CarbonFactor.builder()
+                    .category(CATEGORIES[i])
+                    .emissionFactor(BigDecimal.valueOf(i + 1, 1))
+                    .build());
+        }
+
+        CarbonFactorRepository repository = mock(CarbonFactorRepository.class, withSettings().stubOnly());
+        when(repository.findAll()).thenReturn(factors);
+
+        EmissionFactorCache cache = new EmissionFactorCache(repository, new SimpleMeterRegistry());
+        cache.reload();
+        carbonCalculatorService = new CarbonCalculatorService(repository, cache);
+        snapshot = carbonCalculatorService.getEmissionFactorSnapshot();
+
+        amounts = new BigDecimal[1024];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(100 + i * 37L, 2);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateCarbonFootprint() {
+        int i = cursor++ & 1023;
+        return carbonCalculatorService.calculateCarbonFootprint(amounts[i], CATEGORIES[i % CATEGORIES.length]);
+    }
+
+    @Benchmark
+    public BigDecimal calculateCarbonFootprintWithSnapshot() {
+        int i = cursor++ & 1023;
+        return carbonCalculatorService.calculateCarbonFootprint(
+                amounts[i], CATEGORIES[i % CATEGORIES.length], snapshot);
+    }
+}
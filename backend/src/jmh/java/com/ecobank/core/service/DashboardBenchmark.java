@@ -0,0 +1,127 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.CarbonStats;
+import com.ecobank.core.dto.CategoryBreakdown;
+import com.ecobank.core.dto.Dashboard;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.TransactionRepository;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.PrincipalCache;
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the dashboard's previous three GraphQL queries with getDashboard.
+ * Every repository call waits roundTripMicros before answering, standing in for
+ * the network round trip to the database that stub-only mocks would otherwise hide.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+EnableDynamicAgentLoading")
+public class DashboardBenchmark {
+
+    private static final int CATEGORIES = 14;
+    private static final int MONTHS = 12;
+
+    @Param({"0", "250"})
+    public long roundTripMicros;
+
+    private TransactionService transactionService;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        userId = UUID.randomUUID();
+        User user = User.builder().id(userId).email("bench@example.com").build();
+        YearMonth currentMonth = YearMonth.now();
+
+        List<Object[]> categoryRows = new ArrayList<>();
+        List<Object[]> dashboardRows = new ArrayList<>();
+        dashboardRows.add(new Object[]{"USER", null, user.getMonthlyCarbonBudget(), null, 80L});
+        dashboardRows.add(new Object[]{"TOTAL", null, new BigDecimal("1834.75"), null, null});
+        for (int i = 0; i < CATEGORIES; i++) {
+            BigDecimal carbon = BigDecimal.valueOf(1000 + i * 113L, 2);
+            BigDecimal amount = BigDecimal.valueOf(5000 + i * 271L, 2);
+            categoryRows.add(new Object[]{"CATEGORY_" + i, carbon, amount, (long) (i + 1)});
+            dashboardRows.add(new Object[]{"CATEGORY", "CATEGORY_" + i, carbon, amount, (long) (i + 1)});
+        }
+        Map<YearMonth, BigDecimal> carbonByMonth = new HashMap<>();
+        for (int i = 0; i < MONTHS; i++) {
+            YearMonth month = currentMonth.minusMonths(i);
+            BigDecimal carbon = BigDecimal.valueOf(4000 + i * 97L, 2);
+            carbonByMonth.put(month, carbon);
+            dashboardRows.add(new Object[]{"MONTH",
+                    String.valueOf(month.getYear() * 100 + month.getMonthValue()), carbon, null, null});
+        }
+
+        TransactionRepository transactionRepository = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(transactionRepository.getCategoryBreakdown(userId)).thenAnswer(roundTrip(categoryRows));
+        when(transactionRepository.getDashboardRows(eq(userId), anyInt(), anyInt()))
+                .thenAnswer(roundTrip(dashboardRows));
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findById(userId)).thenAnswer(roundTrip(Optional.of(user)));
+
+        CarbonLedgerService carbonLedgerService = mock(CarbonLedgerService.class, withSettings().stubOnly());
+        when(carbonLedgerService.getMonthlyCarbon(any(UUID.class), any(YearMonth.class)))
+                .thenAnswer(roundTrip(new BigDecimal("40.00")));
+        when(carbonLedgerService.getTotalCarbon(userId)).thenAnswer(roundTrip(new BigDecimal("1834.75")));
+        when(carbonLedgerService.getCarbonByMonth(eq(userId), any(YearMonth.class), any(YearMonth.class)))
+                .thenAnswer(roundTrip(carbonByMonth));
+
+        UserService userService = new UserService(userRepository, carbonLedgerService,
+                mock(PrincipalCache.class, withSettings().stubOnly()),
+                mock(UserStatsCache.class, withSettings().stubOnly()));
+        transactionService = new TransactionService(transactionRepository, userService,
+                mock(CarbonCalculatorService.class, withSettings().stubOnly()),
+                mock(BlockchainService.class, withSettings().stubOnly()),
+                carbonLedgerService,
+                mock(TransactionEventBus.class, withSettings().stubOnly()),
+                mock(UserStatsCache.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public void threeQueries(Blackhole blackhole) {
+        CarbonStats stats = transactionService.getCarbonStats(userId);
+        List<CategoryBreakdown> breakdown = transactionService.getCategoryBreakdownList(userId);
+        List<BigDecimal> history = transactionService.getMonthlyHistoricalCarbon(userId, MONTHS);
+        blackhole.consume(stats);
+        blackhole.consume(breakdown);
+        blackhole.consume(history);
+    }
+
+    @Benchmark
+    public Dashboard singleQuery() {
+        return transactionService.getDashboard(userId, MONTHS);
+    }
+
+    private <T> Answer<T> roundTrip(T result) {
+        long nanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        return invocation -> {
+            long deadline = System.nanoTime() + nanos;
+            while (System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return result;
+        };
+    }
+}
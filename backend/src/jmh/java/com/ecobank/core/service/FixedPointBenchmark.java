@@ -0,0 +1,61 @@
+package com.ecobank.core.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The category breakdown's BigDecimal sum and percentages against FixedPoint, for 14 categories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedPointBenchmark {
+
+    private static final int CATEGORIES = 14;
+
+    private BigDecimal[] categoryCarbon;
+
+    @Setup
+    public void setUp() {
+        categoryCarbon = new BigDecimal[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryCarbon[i] = BigDecimal.valueOf(10_000 + i * 11_317L, 2);
+        }
+    }
+
+    @Benchmark
+    public float[] breakdownBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal carbon : categoryCarbon) {
+            total = total.add(carbon);
+        }
+        float[] percentages = new float[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            percentages[i] = categoryCarbon[i].divide(total, 4, RoundingMode.HALF_UP)
+                    .multiply(new BigDecimal("100"))
+                    .floatValue();
+        }
+        return percentages;
+    }
+
+    @Benchmark
+    public float[] breakdownFixedPoint() {
+        long[] cents = new long[CATEGORIES];
+        long total = 0;
+        for (int i = 0; i < CATEGORIES; i++) {
+            cents[i] = FixedPoint.toFixed(categoryCarbon[i], FixedPoint.CENTS_SCALE);
+            total += cents[i];
+        }
+        float[] percentages = new float[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            percentages[i] = FixedPoint.percentage(cents[i], total);
+        }
+        return percentages;
+    }
+}
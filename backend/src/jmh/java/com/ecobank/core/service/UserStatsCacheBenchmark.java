@@ -0,0 +1,143 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.CarbonStats;
+import com.ecobank.core.dto.CategoryBreakdown;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A simulated working set of 100k users reading their stats and breakdown, with Zipf
+ * skewed popularity and a share of reads followed by a write that moves the user to a
+ * new version. Hit ratio comes out as the hits and misses counters; the heap the cache
+ * retains once filled is printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserStatsCacheBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int CATEGORIES = 14;
+    private static final int SAMPLES = 1 << 20;
+
+    @Param({"10000", "100000"})
+    public long maxSize;
+
+    @Param({"0.05"})
+    public double writeRatio;
+
+    private UserStatsCache userStatsCache;
+    private UUID[] userIds;
+    private int[] reads;
+    private boolean[] writes;
+    private long heapBefore;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long hits;
+        public long misses;
+        int cursor;
+    }
+
+    @Setup
+    public void setUp() {
+        userIds = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = UUID.randomUUID();
+        }
+
+        // Zipf (s = 1) over users by rank
+        double[] cumulative = new double[USERS];
+        double sum = 0;
+        for (int i = 0; i < USERS; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        reads = new int[SAMPLES];
+        writes = new boolean[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            reads[i] = rank >= 0 ? rank : -rank - 1;
+            writes[i] = random.nextDouble() < writeRatio;
+        }
+
+        heapBefore = usedHeapAfterGc();
+        userStatsCache = new UserStatsCache(new SimpleMeterRegistry(), maxSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        long retained = usedHeapAfterGc() - heapBefore;
+        System.out.printf("%nmaxSize=%d: hit rate %.3f, %d KB retained%n",
+                maxSize, userStatsCache.getHitRate(), retained / 1024);
+    }
+
+    @Benchmark
+    public Object readStats(Counters counters) {
+        int i = counters.cursor++ & (SAMPLES - 1);
+        UUID userId = userIds[reads[i]];
+        long missesBefore = counters.misses;
+        CarbonStats stats = userStatsCache.getCarbonStats(userId, () -> {
+            counters.misses++;
+            return loadStats(userId);
+        });
+        List<CategoryBreakdown> categories = userStatsCache.getCategoryBreakdown(userId, () -> {
+            counters.misses++;
+            return loadBreakdown();
+        });
+        counters.hits += 2 - (counters.misses - missesBefore);
+        if (writes[i]) {
+            userStatsCache.invalidateAfterCommit(userId);
+        }
+        return categories.isEmpty() ? null : stats;
+    }
+
+    // Fresh objects per load, as the database would return, so retained heap is honest
+    private static CarbonStats loadStats(UUID userId) {
+        return CarbonStats.builder()
+                .userId(userId)
+                .totalCarbon(new BigDecimal("1834.75"))
+                .monthlyCarbon(new BigDecimal("62.40"))
+                .carbonBudget(new BigDecimal("500.00"))
+                .carbonPercentage(0.1248f)
+                .ecoScore(80)
+                .build();
+    }
+
+    private static List<CategoryBreakdown> loadBreakdown() {
+        List<CategoryBreakdown> breakdown = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            breakdown.add(CategoryBreakdown.builder()
+                    .category("CATEGORY_" + i)
+                    .totalCarbon(BigDecimal.valueOf(1000 + i * 113L, 2))
+                    .totalAmount(BigDecimal.valueOf(5000 + i * 271L, 2))
+                    .transactionCount(10 + i)
+                    .percentage(1f / CATEGORIES)
+                    .build());
+        }
+        return breakdown;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
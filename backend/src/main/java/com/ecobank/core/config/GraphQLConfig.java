@@ -1,6 +1,9 @@
 package com.ecobank.core.config;
 
 import graphql.scalars.ExtendedScalars;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
@@ -15,4 +18,17 @@ public class GraphQLConfig {
                 .scalar(ExtendedScalars.GraphQLBigDecimal)
                 .scalar(ExtendedScalars.DateTime);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCacheCustomizer(GraphQLDocumentCache documentCache) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentCache));
+    }
+
+    /**
+     * Operation names come from clients, so cap how many distinct ones get their own meters.
+     */
+    @Bean
+    public MeterFilter graphQlOperationTagLimit(@Value("${app.graphql.metrics.max-operations:100}") int maxOperations) {
+        return MeterFilter.maximumAllowableTags("graphql.operation", "operation", maxOperations, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecobank.core.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of parsed and validated documents, so a query the app has sent before
+ * skips both steps. Requests carrying an Apollo persistedQuery extension are keyed by their
+ * SHA-256 and may omit the query text once the server has seen it; an unknown hash answers
+ * PersistedQueryNotFound and the client resends the text. Documents that fail to parse or
+ * validate are not cached, so garbage queries cannot evict the app's own.
+ */
+@Component
+public class GraphQLDocumentCache implements PreparsedDocumentProvider {
+
+    static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final PersistedQuerySupport persistedQueries;
+
+    public GraphQLDocumentCache(MeterRegistry meterRegistry,
+                                @Value("${app.graphql.document-cache.max-size:500}") long maxSize) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.documents");
+        this.persistedQueries = new ApolloPersistedQuerySupport(new PersistedDocuments());
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        if (executionInput.getExtensions().containsKey(PERSISTED_QUERY_EXTENSION)) {
+            return persistedQueries.getDocumentAsync(executionInput, parseAndValidate);
+        }
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry cached = documents.getIfPresent(query);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.completedFuture(cacheIfValid(query, parseAndValidate.apply(executionInput)));
+    }
+
+    private PreparsedDocumentEntry cacheIfValid(String key, PreparsedDocumentEntry entry) {
+        if (!entry.hasErrors()) {
+            documents.put(key, entry);
+        }
+        return entry;
+    }
+
+    // Hash keys share the cache with query texts; the prefix keeps the two apart
+    private class PersistedDocuments implements PersistedQueryCache {
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(
+                Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss)
+                throws PersistedQueryNotFound {
+            String key = "sha256:" + persistedQueryId;
+            PreparsedDocumentEntry cached = documents.getIfPresent(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            String query = executionInput.getQuery();
+            if (query == null || query.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+                throw new PersistedQueryNotFound(persistedQueryId);
+            }
+            // The miss handler checks the hash against the text before parsing it
+            return CompletableFuture.completedFuture(cacheIfValid(key, onCacheMiss.apply(query)));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecobank.core.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the production connection pool from the core count, (cores * 2) + 1,
+ * unless spring.datasource.hikari.maximum-pool-size is set explicitly.
+ */
+@Component
+@Profile("prod")
+@Slf4j
+public class HikariPoolSizer implements BeanPostProcessor, Ordered {
+
+    static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    private final Environment environment;
+    private final int availableProcessors;
+
+    public HikariPoolSizer(Environment environment) {
+        this(environment, Runtime.getRuntime().availableProcessors());
+    }
+
+    HikariPoolSizer(Environment environment, int availableProcessors) {
+        this.environment = environment;
+        this.availableProcessors = availableProcessors;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && !environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+            int poolSize = availableProcessors * 2 + 1;
+            dataSource.setMaximumPoolSize(poolSize);
+            log.info("Sized connection pool {} to {} for {} cores",
+                    dataSource.getPoolName(), poolSize, availableProcessors);
+        }
+        return bean;
+    }
+
+    // Before SqlCapturingDataSourcePostProcessor wraps the pool
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,164 @@
+package com.ecobank.core.config;
+
+import com.ecobank.core.config.SlowOperationLog.SlowOperation;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every GraphQL operation by name and every non-trivial data fetcher by type and
+ * field, and counts the SQL statements and rows each operation caused through SqlCapture.
+ * Operations over the slow threshold go to the SlowOperationLog.
+ */
+@Component
+public class OperationMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    static final String OPERATION_TIMER = "graphql.operation.duration";
+    static final String STATEMENTS_METRIC = "graphql.operation.sql.statements";
+    static final String ROWS_METRIC = "graphql.operation.sql.rows";
+    static final String FETCHER_TIMER = "graphql.fetcher.duration";
+
+    private final MeterRegistry meterRegistry;
+    private final SlowOperationLog slowOperationLog;
+    private final int maxCapturedStatements;
+
+    public OperationMetricsInstrumentation(
+            MeterRegistry meterRegistry,
+            SlowOperationLog slowOperationLog,
+            @Value("${app.graphql.slow-operations.max-statements:50}") int maxCapturedStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowOperationLog = slowOperationLog;
+        this.maxCapturedStatements = maxCapturedStatements;
+    }
+
+    static class OperationState implements InstrumentationState {
+        private final long startNanos = System.nanoTime();
+        private final SqlCapture sqlCapture;
+        private volatile String operation;
+        private volatile String type = "unknown";
+
+        OperationState(SqlCapture sqlCapture, String operation) {
+            this.sqlCapture = sqlCapture;
+            this.operation = operation;
+        }
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        ExecutionInput input = parameters.getExecutionInput();
+        OperationState state = new OperationState(new SqlCapture(maxCapturedStatements),
+                input.getOperationName() != null ? input.getOperationName() : "anonymous");
+        input.getGraphQLContext().put(SqlCapture.CONTEXT_KEY, state.sqlCapture);
+        return state;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(
+            InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        OperationState operationState = (OperationState) state;
+        return SimpleInstrumentationContext.whenCompleted(
+                (result, error) -> record(operationState, parameters.getVariables(),
+                        error == null && result.getErrors().isEmpty() ? "success" : "error"));
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        OperationState operationState = (OperationState) state;
+        OperationDefinition definition = parameters.getExecutionContext().getOperationDefinition();
+        if (definition.getName() != null) {
+            operationState.operation = definition.getName();
+        }
+        operationState.type = definition.getOperation().name().toLowerCase(Locale.ROOT);
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(
+            InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        long startNanos = System.nanoTime();
+        String type = parameters.getExecutionStepInfo().getObjectType().getName();
+        String field = parameters.getField().getName();
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> Timer.builder(FETCHER_TIMER)
+                .description("Time for a data fetcher's value to complete")
+                .tag("type", type)
+                .tag("field", field)
+                .tag("outcome", error == null ? "success" : "error")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private void record(OperationState state, Map<String, Object> variables, String outcome) {
+        long durationNanos = System.nanoTime() - state.startNanos;
+        SqlCapture sqlCapture = state.sqlCapture;
+        Timer.builder(OPERATION_TIMER)
+                .description("Time to parse, validate and execute GraphQL operations")
+                .tag("operation", state.operation)
+                .tag("type", state.type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements executed per GraphQL operation")
+                .tag("operation", state.operation)
+                .register(meterRegistry)
+                .record(sqlCapture.getStatements());
+        DistributionSummary.builder(ROWS_METRIC)
+                .description("Rows read from the database per GraphQL operation")
+                .tag("operation", state.operation)
+                .register(meterRegistry)
+                .record(sqlCapture.getRows());
+
+        if (slowOperationLog.isSlow(durationNanos)) {
+            slowOperationLog.record(new SlowOperation(Instant.now(), state.operation, state.type,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), shapeOf(variables),
+                    sqlCapture.getStatements(), sqlCapture.getRows(), sqlCapture.getSql()));
+        }
+    }
+
+    // Variable names with the type of each value in place of the value
+    static Map<String, Object> shapeOf(Map<?, ?> values) {
+        Map<String, Object> shape = new LinkedHashMap<>();
+        values.forEach((name, value) -> shape.put(String.valueOf(name), shapeOfValue(value)));
+        return shape;
+    }
+
+    private static Object shapeOfValue(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return shapeOf(map);
+        }
+        if (value instanceof List<?> list) {
+            return list.isEmpty() ? List.of() : Map.of("size", list.size(), "element", shapeOfValue(list.get(0)));
+        }
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Number) {
+            return "Number";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,264 @@
+package com.ecobank.core.config;
+
+import com.ecobank.core.service.TransactionService;
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estimates what an operation will resolve before it runs and rejects it when it is
+ * deeper or costlier than the configured limits. Every object a field resolves costs 1,
+ * times the expected size of each enclosing list; Query fields that run aggregate queries
+ * add a weight per call. A list takes its size from a {@code first} argument on the field
+ * or its parent, then from LIST_SIZES, then from the default. Introspection is free.
+ * The estimate and the cost actually resolved are recorded per operation.
+ */
+@Component
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    static final String COST_METRIC = "graphql.operation.cost";
+    static final String REJECTED_METRIC = "graphql.operation.rejected";
+
+    // Expected sizes of lists without a first argument, from the service limits
+    private static final Map<String, Integer> LIST_SIZES = Map.of(
+            "User.transactions", TransactionService.MAX_TRANSACTIONS_PER_USER,
+            "Query.getUserTransactions", 500,
+            "Query.getAllTransactions", 500,
+            "Query.getTransactionsByCategory", 500,
+            "Query.getCategoryBreakdown", 14,
+            "Dashboard.categoryBreakdown", 14,
+            "TransactionConnection.edges", 20);
+
+    // Query fields that aggregate over a user's history, charged per call
+    private static final Map<String, Integer> QUERY_WEIGHTS = Map.of(
+            "getCarbonStats", 5,
+            "getCategoryBreakdown", 5,
+            "getMonthlyHistoricalCarbon", 5,
+            "getMonthlySummary", 5,
+            "getDashboard", 10);
+
+    private final MeterRegistry meterRegistry;
+    private final long maxCost;
+    private final int maxDepth;
+    private final int defaultListSize;
+
+    public QueryCostInstrumentation(
+            MeterRegistry meterRegistry,
+            @Value("${app.graphql.max-cost:10000}") long maxCost,
+            @Value("${app.graphql.max-depth:10}") int maxDepth,
+            @Value("${app.graphql.default-list-size:100}") int defaultListSize) {
+        this.meterRegistry = meterRegistry;
+        this.maxCost = maxCost;
+        this.maxDepth = maxDepth;
+        this.defaultListSize = defaultListSize;
+    }
+
+    static class CostState implements InstrumentationState {
+        private final LongAdder actualCost = new LongAdder();
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new CostState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        String operation = context.getOperationDefinition().getName() != null
+                ? context.getOperationDefinition().getName()
+                : "anonymous";
+
+        Estimate estimate = estimate(context);
+        if (estimate.depth() > maxDepth) {
+            reject(operation, "depth");
+            throw new AbortExecutionException(
+                    "Query depth " + estimate.depth() + " exceeds the limit of " + maxDepth);
+        }
+        if (estimate.cost() > maxCost) {
+            reject(operation, "cost");
+            throw new AbortExecutionException(
+                    "Query cost " + estimate.cost() + " exceeds the limit of " + maxCost);
+        }
+
+        CostState costState = (CostState) state;
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            costSummary(operation, "estimated").record(estimate.cost());
+            costSummary(operation, "actual").record(costState.actualCost.sum());
+        });
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(
+            InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        GraphQLFieldDefinition field = parameters.getField();
+        Integer weight = QUERY_WEIGHTS.get(field.getName());
+        boolean weighted = weight != null
+                && parameters.getExecutionStepInfo().getObjectType().getName().equals("Query");
+        boolean resolvesObjects = GraphQLTypeUtil.unwrapAll(field.getType()) instanceof GraphQLObjectType;
+        if (!weighted && !resolvesObjects) {
+            return SimpleInstrumentationContext.noOp();
+        }
+
+        LongAdder actualCost = ((CostState) state).actualCost;
+        if (weighted) {
+            actualCost.add(weight);
+        }
+        if (!resolvesObjects) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> actualCost.add(objectCount(result)));
+    }
+
+    record Estimate(long cost, int depth) {
+    }
+
+    Estimate estimate(ExecutionContext context) {
+        Map<QueryVisitorFieldEnvironment, Long> childCosts = new HashMap<>();
+        long[] total = {0};
+        int[] depth = {0};
+
+        QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getOperationDefinition().getName())
+                .coercedVariables(context.getCoercedVariables())
+                .build()
+                .visitPostOrder(new QueryVisitorStub() {
+                    @Override
+                    public void visitField(QueryVisitorFieldEnvironment env) {
+                        if (isIntrospection(env)) {
+                            return;
+                        }
+                        depth[0] = Math.max(depth[0], depthOf(env));
+                        long cost = fieldCost(env, childCosts.getOrDefault(env, 0L));
+                        QueryVisitorFieldEnvironment parent = env.getParentEnvironment();
+                        if (parent == null) {
+                            total[0] = saturatedAdd(total[0], cost);
+                        } else {
+                            childCosts.merge(parent, cost, QueryCostInstrumentation::saturatedAdd);
+                        }
+                    }
+                });
+        return new Estimate(total[0], depth[0]);
+    }
+
+    private long fieldCost(QueryVisitorFieldEnvironment env, long childCost) {
+        long cost = 0;
+        if (env.getParentEnvironment() == null) {
+            cost = QUERY_WEIGHTS.getOrDefault(env.getField().getName(), 0);
+        }
+        GraphQLOutputType type = env.getFieldDefinition().getType();
+        if (!(GraphQLTypeUtil.unwrapAll(type) instanceof GraphQLObjectType)) {
+            return cost;
+        }
+        long perObject = saturatedAdd(1, childCost);
+        long objects = isList(type) ? listSize(env) : 1;
+        return saturatedAdd(cost, saturatedMultiply(objects, perObject));
+    }
+
+    private long listSize(QueryVisitorFieldEnvironment env) {
+        Object first = env.getArguments().get("first");
+        if (first == null && env.getParentEnvironment() != null) {
+            first = env.getParentEnvironment().getArguments().get("first");
+        }
+        if (first instanceof Integer size) {
+            return Math.max(size, 0);
+        }
+        String coordinate = GraphQLTypeUtil.unwrapAll(env.getParentType()).getName() + "." + env.getField().getName();
+        return LIST_SIZES.getOrDefault(coordinate, defaultListSize);
+    }
+
+    private static boolean isList(GraphQLType type) {
+        return GraphQLTypeUtil.unwrapNonNull(type) instanceof GraphQLList;
+    }
+
+    private static int depthOf(QueryVisitorFieldEnvironment env) {
+        int depth = 0;
+        for (QueryVisitorFieldEnvironment e = env; e != null; e = e.getParentEnvironment()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private static boolean isIntrospection(QueryVisitorFieldEnvironment env) {
+        for (QueryVisitorFieldEnvironment e = env; e != null; e = e.getParentEnvironment()) {
+            if (e.getField().getName().startsWith("__")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long objectCount(Object result) {
+        if (result instanceof DataFetcherResult<?> wrapped) {
+            result = wrapped.getData();
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Iterable<?> iterable) {
+            long count = 0;
+            for (Object element : iterable) {
+                if (element != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        return 1;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        return Math.multiplyHigh(a, b) == 0 && a * b >= 0 ? a * b : Long.MAX_VALUE;
+    }
+
+    private DistributionSummary costSummary(String operation, String kind) {
+        return DistributionSummary.builder(COST_METRIC)
+                .description("Estimated and resolved cost of GraphQL operations")
+                .tag("operation", operation)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private void reject(String operation, String reason) {
+        Counter.builder(REJECTED_METRIC)
+                .description("GraphQL operations rejected before execution")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecobank.core.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Routes read-only transactions to a replica and everything else to the primary.
+ * The physical connection is fetched on the first statement, after the transaction
+ * manager has marked the connection read-only, so the route follows
+ * {@code @Transactional(readOnly = true)}. If the replica cannot hand out a connection,
+ * reads fall back to the primary until the retry interval has passed.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration replicaRetryInterval) {
+        super(primary);
+        setReadOnlyDataSource(new FallbackDataSource(replica, primary, replicaRetryInterval));
+        // Known pool defaults, so the proxy does not borrow a connection at startup to detect them
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    }
+
+    private static final class FallbackDataSource extends DelegatingDataSource {
+
+        private final DataSource fallback;
+        private final long retryIntervalNanos;
+        private volatile long retryAt;
+
+        FallbackDataSource(DataSource replica, DataSource fallback, Duration retryInterval) {
+            super(replica);
+            this.fallback = fallback;
+            this.retryIntervalNanos = retryInterval.toNanos();
+            this.retryAt = System.nanoTime();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (System.nanoTime() - retryAt < 0) {
+                return readOnly(fallback.getConnection());
+            }
+            try {
+                return super.getConnection();
+            } catch (SQLException e) {
+                retryAt = System.nanoTime() + retryIntervalNanos;
+                log.warn("Replica unavailable, serving reads from the primary for {} ms: {}",
+                        Duration.ofNanos(retryIntervalNanos).toMillis(), e.getMessage());
+                return readOnly(fallback.getConnection());
+            }
+        }
+
+        private static Connection readOnly(Connection connection) throws SQLException {
+            connection.setReadOnly(true);
+            return connection;
+        }
+    }
+}
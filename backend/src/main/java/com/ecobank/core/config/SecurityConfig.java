@@ -3,6 +3,7 @@ package com.ecobank.core.config;
 import com.ecobank.core.security.UserDetailsServiceImpl;
 import com.ecobank.core.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -30,8 +31,8 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -48,7 +49,11 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/graphql/**").permitAll()
+                // The upgrade cannot carry a header; WebSocketAuthInterceptor checks the token in connection_init
+                .requestMatchers("/graphql-ws").permitAll()
                 .requestMatchers("/graphiql/**").permitAll()
+                // Metrics expose operation names and traffic; health stays open to any signed-in caller
+                .requestMatchers("/actuator/metrics", "/actuator/metrics/**", "/actuator/slowoperations").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,71 @@
+package com.ecobank.core.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The most recent GraphQL operations that took longer than the threshold, newest first,
+ * served at /actuator/slowoperations. Entries hold the shape of the variables (names and
+ * value types, never values) and the SQL as prepared, with parameters left as placeholders.
+ */
+@Component
+@Endpoint(id = "slowoperations")
+@Slf4j
+public class SlowOperationLog {
+
+    public record SlowOperation(
+            Instant completedAt,
+            String operation,
+            String type,
+            long durationMillis,
+            Map<String, Object> variables,
+            int statements,
+            long rows,
+            List<String> sql) {
+    }
+
+    private final Duration threshold;
+    private final int capacity;
+    private final Deque<SlowOperation> entries = new ArrayDeque<>();
+
+    public SlowOperationLog(
+            @Value("${app.graphql.slow-operations.threshold:500ms}") Duration threshold,
+            @Value("${app.graphql.slow-operations.capacity:50}") int capacity) {
+        this.threshold = threshold;
+        this.capacity = capacity;
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= threshold.toNanos();
+    }
+
+    public void record(SlowOperation operation) {
+        log.warn("Slow GraphQL {} {} took {} ms: {} SQL statements, {} rows",
+                operation.type(), operation.operation(), operation.durationMillis(),
+                operation.statements(), operation.rows());
+        synchronized (entries) {
+            if (entries.size() >= capacity) {
+                entries.pollLast();
+            }
+            entries.addFirst(operation);
+        }
+    }
+
+    @ReadOperation
+    public List<SlowOperation> slowOperations() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecobank.core.config;
+
+import io.micrometer.context.ContextRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL statements executed and rows fetched on behalf of one GraphQL operation. The
+ * operation's capture is stored in its GraphQLContext under CONTEXT_KEY; Spring GraphQL
+ * binds it to the thread around every controller method and batch loader, and tasks
+ * handed to the query executor carry it along. Connections taken from the data source
+ * while it is bound report to it. Only the first maxStatements SQL strings are kept.
+ */
+public final class SqlCapture {
+
+    static final String CONTEXT_KEY = SqlCapture.class.getName();
+
+    private static final ThreadLocal<SqlCapture> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CONTEXT_KEY, CURRENT);
+    }
+
+    private final int maxStatements;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final LongAdder rows = new LongAdder();
+    private final List<String> sql = new ArrayList<>();
+
+    public SqlCapture(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    static SqlCapture current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(String statement) {
+        if (statements.incrementAndGet() <= maxStatements) {
+            synchronized (sql) {
+                sql.add(statement);
+            }
+        }
+    }
+
+    void rowFetched() {
+        rows.increment();
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public List<String> getSql() {
+        synchronized (sql) {
+            return List.copyOf(sql);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecobank.core.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports the statements run and rows read on a connection to the SqlCapture bound when
+ * the connection was taken. Connections taken outside a GraphQL operation (schedulers,
+ * startup) are returned unwrapped and cost nothing extra. A batch counts as one statement.
+ */
+public class SqlCapturingDataSource extends DelegatingDataSource {
+
+    public SqlCapturingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return capture(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return capture(super.getConnection(username, password));
+    }
+
+    private static Connection capture(Connection connection) {
+        SqlCapture sqlCapture = SqlCapture.current();
+        if (sqlCapture == null) {
+            return connection;
+        }
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql, sqlCapture));
+            }
+            return result;
+        });
+    }
+
+    private record StatementHandler(Statement statement, String preparedSql, SqlCapture sqlCapture)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlCapturingDataSource.invoke(statement, method, args);
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                    sqlCapture.statementExecuted(sql);
+                } else {
+                    sqlCapture.statementExecuted(preparedSql != null ? preparedSql : name);
+                }
+            }
+            if (result instanceof ResultSet resultSet && (name.equals("executeQuery") || name.equals("getResultSet"))) {
+                return proxy(ResultSet.class, (resultSetProxy, resultSetMethod, resultSetArgs) -> {
+                    Object value = SqlCapturingDataSource.invoke(resultSet, resultSetMethod, resultSetArgs);
+                    if (Boolean.TRUE.equals(value) && resultSetMethod.getName().equals("next")) {
+                        sqlCapture.rowFetched();
+                    }
+                    return value;
+                });
+            }
+            return result;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Proxies are equal only to themselves, so Hibernate's statement registry can key on them
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlCapturingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecobank.core.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source JPA uses, the routing one when a replica is configured, in a
+ * SqlCapturingDataSource. Runs last so pool post-processors still see the Hikari type.
+ */
+@Component
+public class SqlCapturingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                && !(bean instanceof SqlCapturingDataSource)) {
+            return new SqlCapturingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
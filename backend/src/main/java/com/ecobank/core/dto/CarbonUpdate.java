@@ -0,0 +1,22 @@
+package com.ecobank.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarbonUpdate {
+    private UUID userId;
+    private BigDecimal totalCarbon;
+    private BigDecimal monthlyCarbon;
+    private Integer ecoScore;
+    private OffsetDateTime timestamp;
+}
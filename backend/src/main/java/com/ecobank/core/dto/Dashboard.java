@@ -0,0 +1,18 @@
+package com.ecobank.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Dashboard {
+    private CarbonStats stats;
+    private List<CategoryBreakdown> categoryBreakdown;
+    private List<Double> monthlyHistoricalCarbon;
+}
@@ -0,0 +1,22 @@
+package com.ecobank.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerReconciliationReport {
+    private Integer rowsChecked;
+    private Integer driftedRows;
+    private Integer missingRows;
+    private Integer orphanedRows;
+    // All-zero rows left by deletes; removed, but not counted as drift
+    private Integer emptyRows;
+    private BigDecimal totalCarbonDrift;
+}
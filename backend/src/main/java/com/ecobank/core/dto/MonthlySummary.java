@@ -0,0 +1,23 @@
+package com.ecobank.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySummary {
+    private UUID userId;
+    private Integer year;
+    private Integer month;
+    private BigDecimal totalCarbon;
+    private BigDecimal totalAmount;
+    private Integer transactionCount;
+    private BigDecimal averageCarbonPerTransaction;
+}
@@ -0,0 +1,15 @@
+package com.ecobank.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageInfo {
+    private Boolean hasNextPage;
+    private String endCursor;
+}
@@ -0,0 +1,16 @@
+package com.ecobank.core.dto;
+
+import com.ecobank.core.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionEdge {
+    private String cursor;
+    private Transaction node;
+}
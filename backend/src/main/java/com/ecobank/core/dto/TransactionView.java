@@ -0,0 +1,33 @@
+package com.ecobank.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a transaction served by the list queries. Only the fields
+ * the GraphQL selection asked for are populated; the GraphQL user field is resolved
+ * from userId by the Transaction.user batch loader.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionView {
+    private UUID id;
+    private UUID userId;
+    private BigDecimal amount;
+    private String currency;
+    private String category;
+    private String merchant;
+    private String description;
+    private BigDecimal carbonFootprint;
+    private OffsetDateTime transactionDate;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.ecobank.core.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+/**
+ * A transaction waiting to be anchored on the blockchain. Rows are written in the
+ * same commit as the transaction and stay behind as Merkle leaves once anchored.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "anchor_outbox")
+@EqualsAndHashCode(callSuper = true)
+public class AnchorOutboxEntry extends AuditModel implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "transaction_id")
+    private UUID transactionId;
+
+    @Column(name = "leaf_hash", nullable = false, length = 64)
+    private String leafHash;
+
+    @Column(name = "anchor_id")
+    private UUID anchorId;
+
+    // The id is assigned by the caller, so tell Spring Data to persist rather than merge
+    @Transient
+    @Builder.Default
+    private boolean newEntry = true;
+
+    @Override
+    public UUID getId() {
+        return transactionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntry;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntry = false;
+    }
+}
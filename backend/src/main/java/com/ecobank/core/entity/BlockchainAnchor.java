@@ -0,0 +1,41 @@
+package com.ecobank.core.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "blockchain_anchors")
+@EqualsAndHashCode(callSuper = true)
+public class BlockchainAnchor extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "merkle_root", nullable = false, unique = true, length = 64)
+    private String merkleRoot;
+
+    @Column(name = "leaf_count", nullable = false)
+    private Integer leafCount;
+
+    // Null until the ledger has accepted the root
+    @Column(name = "ledger_reference")
+    private String ledgerReference;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
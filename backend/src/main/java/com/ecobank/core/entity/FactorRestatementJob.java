@@ -0,0 +1,81 @@
+package com.ecobank.core.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Recomputes historical carbon footprints of one category against a factor captured when
+ * the job was started. The worker walks matching transactions in id order; the cursor and
+ * counters are committed with every chunk, so a restarted instance picks up where it stopped.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "factor_restatement_jobs")
+@EqualsAndHashCode(callSuper = true)
+public class FactorRestatementJob extends AuditModel {
+
+    public enum Status {
+        PENDING, RUNNING, RESCORING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(name = "emission_factor", nullable = false, precision = 10, scale = 4)
+    private BigDecimal emissionFactor;
+
+    @Column(name = "from_date")
+    private OffsetDateTime fromDate;
+
+    @Column(name = "to_date")
+    private OffsetDateTime toDate;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    // Last transaction id restated; the next chunk starts after it
+    @Column(name = "cursor_id")
+    private UUID cursorId;
+
+    @Builder.Default
+    @Column(name = "total_rows", nullable = false)
+    private Long totalRows = 0L;
+
+    @Builder.Default
+    @Column(name = "rows_updated", nullable = false)
+    private Long rowsUpdated = 0L;
+
+    @Builder.Default
+    @Column(name = "users_rescored", nullable = false)
+    private Integer usersRescored = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    /**
+     * Share of the rows counted at start that have been restated, from 0 to 1.
+     */
+    public double getProgress() {
+        if (status == Status.RESCORING || status == Status.COMPLETED) {
+            return 1.0;
+        }
+        // Rows created during the run may be restated too, so the count can pass the total
+        return totalRows == 0 ? 0.0 : Math.min(1.0, (double) rowsUpdated / totalRows);
+    }
+}
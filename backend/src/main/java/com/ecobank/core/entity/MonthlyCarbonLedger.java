@@ -0,0 +1,43 @@
+package com.ecobank.core.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "monthly_carbon_ledger",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "period_year", "period_month"}))
+@EqualsAndHashCode(callSuper = true)
+public class MonthlyCarbonLedger extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "period_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "period_month", nullable = false)
+    private Integer month;
+
+    @Builder.Default
+    @Column(name = "total_carbon", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalCarbon = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "transaction_count", nullable = false)
+    private Integer transactionCount = 0;
+}
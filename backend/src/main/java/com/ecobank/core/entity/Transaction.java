@@ -41,6 +41,6 @@ public class Transaction extends AuditModel {
     @Column(name = "carbon_footprint", nullable = false)
     private BigDecimal carbonFootprint;
     
-    @Column(name = "transaction_date")
+    @Column(name = "transaction_date", nullable = false)
     private OffsetDateTime transactionDate;
 }
\ No newline at end of file
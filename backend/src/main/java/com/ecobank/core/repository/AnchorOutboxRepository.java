@@ -0,0 +1,26 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.AnchorOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AnchorOutboxRepository extends JpaRepository<AnchorOutboxEntry, UUID> {
+
+    /**
+     * Locks the oldest unbatched entries; rows already claimed by another worker are skipped.
+     */
+    @Query(value = "SELECT * FROM anchor_outbox " +
+                   "WHERE anchor_id IS NULL " +
+                   "ORDER BY created_at " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<AnchorOutboxEntry> claimPending(@Param("limit") int limit);
+
+    List<AnchorOutboxEntry> findByAnchorId(UUID anchorId);
+}
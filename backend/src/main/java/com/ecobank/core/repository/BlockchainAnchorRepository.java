@@ -0,0 +1,25 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.BlockchainAnchor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BlockchainAnchorRepository extends JpaRepository<BlockchainAnchor, UUID> {
+
+    Optional<BlockchainAnchor> findByMerkleRoot(String merkleRoot);
+
+    /**
+     * Locks the stored batch longest due for a ledger submission, skipping any another worker holds.
+     */
+    @Query(value = "SELECT * FROM blockchain_anchors " +
+                   "WHERE ledger_reference IS NULL AND next_attempt_at <= now() " +
+                   "ORDER BY next_attempt_at " +
+                   "LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<BlockchainAnchor> claimUnsubmitted();
+}
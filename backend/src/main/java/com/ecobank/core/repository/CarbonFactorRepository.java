@@ -2,6 +2,7 @@ package com.ecobank.core.repository;
 
 import com.ecobank.core.entity.CarbonFactor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +12,13 @@ import java.util.UUID;
 public interface CarbonFactorRepository extends JpaRepository<CarbonFactor, UUID> {
     Optional<CarbonFactor> findByCategory(String category);
     boolean existsByCategory(String category);
+
+    /**
+     * Digest of every (category, factor) pair. Unlike max(updated_at) it also changes for
+     * direct SQL edits that leave updated_at alone, and the table is a few dozen rows.
+     */
+    @Query(value = "SELECT md5(COALESCE(string_agg(upper(category) || '=' || emission_factor, ',' " +
+                   "ORDER BY category), '')) FROM carbon_factors",
+           nativeQuery = true)
+    String getFactorsVersion();
 }
@@ -0,0 +1,26 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.FactorRestatementJob;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface FactorRestatementChunkRepository {
+
+    record RestatedChunk(int rows, UUID lastId) {
+    }
+
+    /**
+     * Counts transactions of the category (any case, optionally within [from, to)) whose
+     * footprint differs from {@code amount * factor}.
+     */
+    long countRestatable(String category, BigDecimal factor, OffsetDateTime from, OffsetDateTime to);
+
+    /**
+     * Restates the next chunk of the job's transactions after its cursor in a single
+     * statement: rewrites the footprints, applies the per-user, per-month carbon deltas to
+     * the ledger and records the affected users for rescoring. Does not move the cursor.
+     */
+    RestatedChunk restateChunk(FactorRestatementJob job, int limit);
+}
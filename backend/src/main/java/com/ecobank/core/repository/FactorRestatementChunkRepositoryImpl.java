@@ -0,0 +1,89 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.FactorRestatementJob;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public class FactorRestatementChunkRepositoryImpl implements FactorRestatementChunkRepository {
+
+    // Postgres ROUND(numeric, 2) rounds half away from zero, like the calculator's RoundingMode.HALF_UP
+    private static final String RESTATED_FOOTPRINT = "ROUND(amount * :factor, 2)";
+
+    // Deltas for the whole chunk are grouped per (user, month), so ON CONFLICT touches each ledger row once
+    private static final String RESTATE_CHUNK =
+            "WITH chunk AS (" +
+            "  SELECT id, carbon_footprint FROM transactions WHERE %s ORDER BY id LIMIT :limit FOR UPDATE" +
+            "), restated AS (" +
+            "  UPDATE transactions t SET carbon_footprint = ROUND(t.amount * :factor, 2), updated_at = now() " +
+            "  FROM chunk c WHERE t.id = c.id " +
+            "  RETURNING t.user_id, t.transaction_date, t.carbon_footprint - c.carbon_footprint AS delta" +
+            "), ledger AS (" +
+            "  INSERT INTO monthly_carbon_ledger " +
+            "  (id, user_id, period_year, period_month, total_carbon, total_amount, transaction_count, created_at, updated_at) " +
+            "  SELECT gen_random_uuid(), r.user_id, " +
+            "         CAST(EXTRACT(YEAR FROM r.transaction_date) AS INTEGER), " +
+            "         CAST(EXTRACT(MONTH FROM r.transaction_date) AS INTEGER), " +
+            "         SUM(r.delta), 0, 0, now(), now() " +
+            "  FROM restated r WHERE r.transaction_date IS NOT NULL " +
+            "  GROUP BY r.user_id, EXTRACT(YEAR FROM r.transaction_date), EXTRACT(MONTH FROM r.transaction_date) " +
+            "  HAVING SUM(r.delta) <> 0 " +
+            "  ON CONFLICT (user_id, period_year, period_month) DO UPDATE SET " +
+            "  total_carbon = monthly_carbon_ledger.total_carbon + EXCLUDED.total_carbon, updated_at = now()" +
+            "), affected AS (" +
+            "  INSERT INTO factor_restatement_users (job_id, user_id) " +
+            "  SELECT DISTINCT CAST(:jobId AS uuid), r.user_id FROM restated r " +
+            "  ON CONFLICT DO NOTHING" +
+            ") " +
+            "SELECT (SELECT COUNT(*) FROM restated), (SELECT id FROM chunk ORDER BY id DESC LIMIT 1)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long countRestatable(String category, BigDecimal factor, OffsetDateTime from, OffsetDateTime to) {
+        Query query = entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM transactions WHERE " + predicate(from, to, null));
+        bind(query, category, factor, from, to, null);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public RestatedChunk restateChunk(FactorRestatementJob job, int limit) {
+        Query query = entityManager.createNativeQuery(
+                        RESTATE_CHUNK.formatted(predicate(job.getFromDate(), job.getToDate(), job.getCursorId())))
+                .setParameter("limit", limit)
+                .setParameter("jobId", job.getId());
+        bind(query, job.getCategory(), job.getEmissionFactor(), job.getFromDate(), job.getToDate(), job.getCursorId());
+
+        Object[] result = (Object[]) query.getSingleResult();
+        return new RestatedChunk(((Number) result[0]).intValue(), (UUID) result[1]);
+    }
+
+    // Rows already at the restated value are skipped, so re-running a job rewrites nothing
+    private static String predicate(OffsetDateTime from, OffsetDateTime to, UUID cursorId) {
+        return "UPPER(category) = :category AND carbon_footprint <> " + RESTATED_FOOTPRINT +
+                (from != null ? " AND transaction_date >= :fromDate" : "") +
+                (to != null ? " AND transaction_date < :toDate" : "") +
+                (cursorId != null ? " AND id > :cursorId" : "");
+    }
+
+    private static void bind(Query query, String category, BigDecimal factor,
+                             OffsetDateTime from, OffsetDateTime to, UUID cursorId) {
+        query.setParameter("category", category.toUpperCase());
+        query.setParameter("factor", factor);
+        if (from != null) {
+            query.setParameter("fromDate", from);
+        }
+        if (to != null) {
+            query.setParameter("toDate", to);
+        }
+        if (cursorId != null) {
+            query.setParameter("cursorId", cursorId);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.FactorRestatementJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FactorRestatementJobRepository
+        extends JpaRepository<FactorRestatementJob, UUID>, FactorRestatementChunkRepository {
+
+    @Query(value = "SELECT id FROM factor_restatement_jobs " +
+                   "WHERE status IN ('PENDING', 'RUNNING', 'RESCORING') ORDER BY created_at",
+           nativeQuery = true)
+    List<UUID> findUnfinishedIds();
+
+    /**
+     * Locks an unfinished job for one step; empty if it finished or another worker holds it.
+     */
+    @Query(value = "SELECT * FROM factor_restatement_jobs " +
+                   "WHERE id = :id AND status IN ('PENDING', 'RUNNING', 'RESCORING') " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<FactorRestatementJob> lockUnfinished(@Param("id") UUID id);
+
+    @Query(value = "SELECT user_id FROM factor_restatement_users WHERE job_id = :jobId " +
+                   "ORDER BY user_id LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findAffectedUserIds(@Param("jobId") UUID jobId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM factor_restatement_users WHERE job_id = :jobId AND user_id IN (:userIds)",
+           nativeQuery = true)
+    int deleteAffectedUsers(@Param("jobId") UUID jobId, @Param("userIds") Collection<UUID> userIds);
+}
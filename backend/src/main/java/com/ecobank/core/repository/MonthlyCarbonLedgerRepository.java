@@ -0,0 +1,136 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.MonthlyCarbonLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MonthlyCarbonLedgerRepository extends JpaRepository<MonthlyCarbonLedger, UUID> {
+
+    Optional<MonthlyCarbonLedger> findByUserIdAndYearAndMonth(UUID userId, Integer year, Integer month);
+
+    /**
+     * A user's carbon per month as (period_year, period_month, total_carbon): the ledger
+     * row where there is one, else the month's transactions (history the backfill has
+     * not reached). Every carbon read goes through this CTE, so stats, history and the
+     * dashboard agree on a month missing from the ledger. Binds :userId.
+     */
+    String LEDGER_WITH_FALLBACK =
+            "ledger AS (" +
+            "    SELECT period_year, period_month, total_carbon FROM monthly_carbon_ledger " +
+            "    WHERE user_id = :userId" +
+            "), months AS (" +
+            "    SELECT period_year, period_month, total_carbon FROM ledger " +
+            "    UNION ALL " +
+            "    SELECT CAST(EXTRACT(YEAR FROM t.transaction_date) AS INTEGER), " +
+            "           CAST(EXTRACT(MONTH FROM t.transaction_date) AS INTEGER), SUM(t.carbon_footprint) " +
+            "    FROM transactions t WHERE t.user_id = :userId AND t.transaction_date IS NOT NULL " +
+            "    AND NOT EXISTS (SELECT 1 FROM ledger l " +
+            "        WHERE l.period_year = EXTRACT(YEAR FROM t.transaction_date) " +
+            "        AND l.period_month = EXTRACT(MONTH FROM t.transaction_date)) " +
+            "    GROUP BY EXTRACT(YEAR FROM t.transaction_date), EXTRACT(MONTH FROM t.transaction_date)" +
+            ") ";
+
+    @Query(value = "WITH " + LEDGER_WITH_FALLBACK +
+                   "SELECT COALESCE(SUM(total_carbon), 0) FROM months",
+           nativeQuery = true)
+    BigDecimal getTotalCarbonByUserId(@Param("userId") UUID userId);
+
+    // Months are selected by index year * 12 + month - 1, inclusive
+    @Query(value = "WITH " + LEDGER_WITH_FALLBACK +
+                   "SELECT period_year, period_month, total_carbon FROM months " +
+                   "WHERE period_year * 12 + period_month - 1 BETWEEN :fromMonth AND :toMonth",
+           nativeQuery = true)
+    List<Object[]> getCarbonByMonth(@Param("userId") UUID userId,
+                                    @Param("fromMonth") int fromMonth,
+                                    @Param("toMonth") int toMonth);
+
+    // Takes the user's ledger lock shared (classid 1279607879, "LEDG") until the transaction
+    // ends, so deltas for one user never wait on each other, only on a reconcile of that user.
+    @Modifying
+    @Query(value = "INSERT INTO monthly_carbon_ledger " +
+                   "(id, user_id, period_year, period_month, total_carbon, total_amount, transaction_count, created_at, updated_at) " +
+                   "SELECT gen_random_uuid(), :userId, :year, :month, :carbon, :amount, :count, now(), now() " +
+                   "FROM (SELECT pg_advisory_xact_lock_shared(1279607879, hashtext(CAST(:userId AS TEXT)))) AS locked " +
+                   "ON CONFLICT (user_id, period_year, period_month) DO UPDATE SET " +
+                   "total_carbon = monthly_carbon_ledger.total_carbon + EXCLUDED.total_carbon, " +
+                   "total_amount = monthly_carbon_ledger.total_amount + EXCLUDED.total_amount, " +
+                   "transaction_count = monthly_carbon_ledger.transaction_count + EXCLUDED.transaction_count, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int applyDelta(@Param("userId") UUID userId,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("carbon") BigDecimal carbon,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") int count);
+
+    long countByUserIdIn(Collection<UUID> userIds);
+
+    /**
+     * Takes the ledger lock of each user exclusively until the transaction ends, in id
+     * order. applyDelta for these users waits meanwhile; every other user is unaffected.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (" +
+                   "    SELECT pg_advisory_xact_lock(1279607879, hashtext(CAST(id AS TEXT))) FROM users " +
+                   "    WHERE id IN (:userIds) ORDER BY id" +
+                   ") AS locked",
+           nativeQuery = true)
+    long lockUsersAgainstDeltas(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Rebuilds the users' ledger rows from their transactions in one statement: rows that
+     * differ from the aggregate are upserted and rows with no transactions left are deleted.
+     * Returns one row per repaired ledger row as (user_id, kind, carbon drift), where kind
+     * is DRIFTED, MISSING, ORPHANED, or EMPTY for an all-zero row that deletes left behind.
+     * Months are bucketed on the stored transaction_date, which holds wall time in the
+     * application's zone.
+     */
+    @Query(value = "WITH truth AS (" +
+                   "  SELECT user_id, CAST(EXTRACT(YEAR FROM transaction_date) AS INTEGER) AS period_year, " +
+                   "  CAST(EXTRACT(MONTH FROM transaction_date) AS INTEGER) AS period_month, " +
+                   "  COALESCE(SUM(carbon_footprint), 0) AS total_carbon, COALESCE(SUM(amount), 0) AS total_amount, " +
+                   "  CAST(COUNT(*) AS INTEGER) AS transaction_count " +
+                   "  FROM transactions WHERE user_id IN (:userIds) AND transaction_date IS NOT NULL " +
+                   "  GROUP BY user_id, EXTRACT(YEAR FROM transaction_date), EXTRACT(MONTH FROM transaction_date)" +
+                   "), ledger AS (" +
+                   "  SELECT * FROM monthly_carbon_ledger WHERE user_id IN (:userIds)" +
+                   "), diff AS (" +
+                   "  SELECT COALESCE(t.user_id, l.user_id) AS user_id, t.period_year, t.period_month, " +
+                   "  t.total_carbon, t.total_amount, t.transaction_count, l.id AS ledger_id, " +
+                   "  CASE WHEN l.id IS NULL THEN 'MISSING' " +
+                   "       WHEN t.user_id IS NULL AND l.transaction_count = 0 AND l.total_carbon = 0 " +
+                   "            AND l.total_amount = 0 THEN 'EMPTY' " +
+                   "       WHEN t.user_id IS NULL THEN 'ORPHANED' ELSE 'DRIFTED' END AS kind, " +
+                   "  ABS(COALESCE(l.total_carbon, 0) - COALESCE(t.total_carbon, 0)) AS carbon_drift " +
+                   "  FROM truth t FULL JOIN ledger l " +
+                   "  ON l.user_id = t.user_id AND l.period_year = t.period_year AND l.period_month = t.period_month " +
+                   "  WHERE l.id IS NULL OR t.user_id IS NULL OR l.total_carbon <> t.total_carbon " +
+                   "  OR l.total_amount <> t.total_amount OR l.transaction_count <> t.transaction_count" +
+                   "), upserted AS (" +
+                   "  INSERT INTO monthly_carbon_ledger " +
+                   "  (id, user_id, period_year, period_month, total_carbon, total_amount, transaction_count, created_at, updated_at) " +
+                   "  SELECT gen_random_uuid(), user_id, period_year, period_month, total_carbon, total_amount, transaction_count, now(), now() " +
+                   "  FROM diff WHERE kind IN ('MISSING', 'DRIFTED') " +
+                   "  ON CONFLICT (user_id, period_year, period_month) DO UPDATE SET " +
+                   "  total_carbon = EXCLUDED.total_carbon, total_amount = EXCLUDED.total_amount, " +
+                   "  transaction_count = EXCLUDED.transaction_count, updated_at = now() " +
+                   "  RETURNING 1" +
+                   "), deleted AS (" +
+                   "  DELETE FROM monthly_carbon_ledger " +
+                   "  WHERE id IN (SELECT ledger_id FROM diff WHERE kind IN ('ORPHANED', 'EMPTY')) " +
+                   "  RETURNING 1" +
+                   ") " +
+                   "SELECT user_id, kind, carbon_drift FROM diff",
+           nativeQuery = true)
+    List<Object[]> rebuildFromTransactions(@Param("userIds") Collection<UUID> userIds);
+}
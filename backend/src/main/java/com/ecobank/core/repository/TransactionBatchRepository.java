@@ -0,0 +1,15 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.Transaction;
+
+import java.util.List;
+
+public interface TransactionBatchRepository {
+
+    /**
+     * Persists transactions in JDBC batches, flushing after each batch and detaching
+     * its rows so memory stays flat for large imports. Other entities in the
+     * persistence context are left managed. The transactions are detached on return.
+     */
+    void insertInBatches(List<Transaction> transactions);
+}
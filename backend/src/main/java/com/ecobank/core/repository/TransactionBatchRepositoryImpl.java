@@ -0,0 +1,38 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+
+public class TransactionBatchRepositoryImpl implements TransactionBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public void insertInBatches(List<Transaction> transactions) {
+        int flushed = 0;
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            if ((i + 1) % batchSize == 0) {
+                flushed = flushAndDetach(transactions, flushed, i + 1);
+            }
+        }
+        flushAndDetach(transactions, flushed, transactions.size());
+    }
+
+    // Detaches only this batch's rows; the caller's User and anything else it holds stay managed
+    private int flushAndDetach(List<Transaction> transactions, int from, int to) {
+        entityManager.flush();
+        for (Transaction transaction : transactions.subList(from, to)) {
+            entityManager.detach(transaction);
+        }
+        return to;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecobank.core.repository;
 
 import com.ecobank.core.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,21 +9,67 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, TransactionBatchRepository,
+        TransactionViewRepository {
     
     List<Transaction> findByUserId(UUID userId);
     List<Transaction> findByUserIdAndCategory(UUID userId, String category);
     
+    // Keyset pages ordered by (transaction_date, id) descending, served by idx_transactions_user_date_id
+    // and idx_transactions_user_category_date_id. The plain transactionDate <= :afterDate bound is
+    // what Postgres can start the index scan at; the OR alone is only a filter applied from the
+    // newest row onwards, which makes deep pages cost as much as skipping an offset.
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByUserId(@Param("userId") UUID userId, Pageable pageable);
+    
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND " +
-           "EXTRACT(YEAR FROM t.transactionDate) = :year AND " +
-           "EXTRACT(MONTH FROM t.transactionDate) = :month")
-    List<Transaction> findByUserIdAndMonth(@Param("userId") UUID userId, 
-                                          @Param("year") int year, 
-                                          @Param("month") int month);
+           "t.transactionDate <= :afterDate AND " +
+           "(t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByUserIdAfter(@Param("userId") UUID userId,
+                                            @Param("afterDate") OffsetDateTime afterDate,
+                                            @Param("afterId") UUID afterId,
+                                            Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.category = :category " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByUserIdAndCategory(@Param("userId") UUID userId,
+                                                  @Param("category") String category,
+                                                  Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.category = :category AND " +
+           "t.transactionDate <= :afterDate AND " +
+           "(t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByUserIdAndCategoryAfter(@Param("userId") UUID userId,
+                                                       @Param("category") String category,
+                                                       @Param("afterDate") OffsetDateTime afterDate,
+                                                       @Param("afterId") UUID afterId,
+                                                       Pageable pageable);
+    
+    // The newest :limit transactions of each user, walking idx_transactions_user_date_id per user
+    @Query(value = "SELECT * FROM (" +
+                   "    SELECT t.*, ROW_NUMBER() OVER (" +
+                   "        PARTITION BY t.user_id ORDER BY t.transaction_date DESC, t.id DESC) AS user_rank " +
+                   "    FROM transactions t WHERE t.user_id IN (:userIds)" +
+                   ") ranked WHERE user_rank <= :limit " +
+                   "ORDER BY user_id, transaction_date DESC, id DESC",
+           nativeQuery = true)
+    List<Transaction> findNewestByUserIdIn(@Param("userIds") Collection<UUID> userIds, @Param("limit") int limit);
+    
+    // Range predicate on transaction_date so the (user_id, transaction_date) index bounds the scan
+    @Query("SELECT COALESCE(SUM(t.carbonFootprint), 0), COALESCE(SUM(t.amount), 0), COUNT(t) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endDate")
+    List<Object[]> getTotalsByUserIdBetween(@Param("userId") UUID userId,
+                                            @Param("startDate") OffsetDateTime startDate,
+                                            @Param("endDate") OffsetDateTime endDate);
     
     @Query("SELECT COALESCE(SUM(t.carbonFootprint), 0) FROM Transaction t WHERE t.user.id = :userId")
     BigDecimal getTotalCarbonByUserId(@Param("userId") UUID userId);
@@ -38,4 +85,30 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
            "FROM Transaction t WHERE t.user.id = :userId " +
            "GROUP BY t.category")
     List<Object[]> getCategoryBreakdown(@Param("userId") UUID userId);
+    
+    /**
+     * Everything the dashboard shows, in one statement. Each row is
+     * (kind, label, carbon, amount, count):
+     * USER (budget in carbon, eco score in count), TOTAL (lifetime carbon),
+     * MONTH (label yyyyMM) and CATEGORY (label category).
+     * Monthly carbon comes from MonthlyCarbonLedgerRepository.LEDGER_WITH_FALLBACK,
+     * so TOTAL and MONTH match getCarbonStats and getMonthlyHistoricalCarbon. Months are
+     * selected by index year * 12 + month - 1, inclusive.
+     */
+    @Query(value = "WITH " + MonthlyCarbonLedgerRepository.LEDGER_WITH_FALLBACK +
+                   "SELECT 'USER' AS kind, NULL AS label, u.monthly_carbon_budget AS carbon, " +
+                   "       NULL AS amount, CAST(u.eco_score AS BIGINT) AS cnt " +
+                   "FROM users u WHERE u.id = :userId " +
+                   "UNION ALL " +
+                   "SELECT 'TOTAL', NULL, COALESCE(SUM(total_carbon), 0), NULL, NULL FROM months " +
+                   "UNION ALL " +
+                   "SELECT 'MONTH', CAST(period_year * 100 + period_month AS VARCHAR), total_carbon, NULL, NULL " +
+                   "FROM months WHERE period_year * 12 + period_month - 1 BETWEEN :fromMonth AND :toMonth " +
+                   "UNION ALL " +
+                   "SELECT 'CATEGORY', category, SUM(carbon_footprint), SUM(amount), COUNT(*) " +
+                   "FROM transactions WHERE user_id = :userId GROUP BY category",
+           nativeQuery = true)
+    List<Object[]> getDashboardRows(@Param("userId") UUID userId,
+                                    @Param("fromMonth") int fromMonth,
+                                    @Param("toMonth") int toMonth);
 }
\ No newline at end of file
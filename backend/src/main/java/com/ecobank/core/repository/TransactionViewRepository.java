@@ -0,0 +1,17 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.dto.TransactionView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TransactionViewRepository {
+
+    /**
+     * A user's newest transactions, optionally in one category, holding only the given
+     * GraphQL fields of the Transaction type. Rows are read as scalars, so no entity
+     * enters the persistence context.
+     */
+    List<TransactionView> findViewsByUserId(UUID userId, String category, Collection<String> fields, int limit);
+}
@@ -0,0 +1,83 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.dto.TransactionView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+public class TransactionViewRepositoryImpl implements TransactionViewRepository {
+
+    private record Column(String path, BiConsumer<TransactionView, Object> setter) {
+    }
+
+    // GraphQL field -> entity path; user only needs the foreign key, which Hibernate reads without a join
+    private static final Map<String, Column> COLUMNS = Map.ofEntries(
+            Map.entry("id", new Column("t.id", (view, value) -> view.setId((UUID) value))),
+            Map.entry("user", new Column("t.user.id", (view, value) -> view.setUserId((UUID) value))),
+            Map.entry("amount", new Column("t.amount", (view, value) -> view.setAmount((BigDecimal) value))),
+            Map.entry("currency", new Column("t.currency", (view, value) -> view.setCurrency((String) value))),
+            Map.entry("category", new Column("t.category", (view, value) -> view.setCategory((String) value))),
+            Map.entry("merchant", new Column("t.merchant", (view, value) -> view.setMerchant((String) value))),
+            Map.entry("description",
+                    new Column("t.description", (view, value) -> view.setDescription((String) value))),
+            Map.entry("carbonFootprint",
+                    new Column("t.carbonFootprint", (view, value) -> view.setCarbonFootprint((BigDecimal) value))),
+            Map.entry("transactionDate", new Column("t.transactionDate",
+                    (view, value) -> view.setTransactionDate((OffsetDateTime) value))),
+            Map.entry("createdAt",
+                    new Column("t.createdAt", (view, value) -> view.setCreatedAt((OffsetDateTime) value))),
+            Map.entry("updatedAt",
+                    new Column("t.updatedAt", (view, value) -> view.setUpdatedAt((OffsetDateTime) value))));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionView> findViewsByUserId(UUID userId, String category, Collection<String> fields,
+                                                   int limit) {
+        // Always select the id so a selection of only __typename still yields one row per transaction
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields) {
+            if (COLUMNS.containsKey(field)) {
+                selected.add(field);
+            }
+        }
+        List<Column> columns = selected.stream().map(COLUMNS::get).toList();
+
+        String jpql = "SELECT " + columns.stream().map(Column::path).collect(Collectors.joining(", ")) +
+                " FROM Transaction t WHERE t.user.id = :userId" +
+                (category != null ? " AND t.category = :category" : "") +
+                " ORDER BY t.transactionDate DESC, t.id DESC";
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+
+        List<Tuple> rows = query.getResultList();
+        List<TransactionView> views = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            TransactionView view = new TransactionView();
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).setter().accept(view, row.get(i));
+            }
+            views.add(view);
+        }
+        return views;
+    }
+}
@@ -4,19 +4,24 @@ import com.ecobank.core.dto.AuthResponse;
 import com.ecobank.core.dto.LoginRequest;
 import com.ecobank.core.dto.RegisterRequest;
 import com.ecobank.core.dto.TransactionInput;
+import com.ecobank.core.entity.FactorRestatementJob;
 import com.ecobank.core.entity.Transaction;
 import com.ecobank.core.entity.User;
 import com.ecobank.core.service.AuthService;
 import com.ecobank.core.service.TransactionService;
 import com.ecobank.core.service.UserService;
 import com.ecobank.core.service.CarbonFactorService;
+import com.ecobank.core.service.FactorRestatementService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.stereotype.Controller;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -26,14 +31,15 @@ public class MutationResolver {
     private final UserService userService;
     private final TransactionService transactionService;
     private final CarbonFactorService carbonFactorService;
+    private final FactorRestatementService factorRestatementService;
     
     @MutationMapping
-    public AuthResponse register(@Argument("input") RegisterRequest input) {
+    public CompletableFuture<AuthResponse> register(@Argument("input") RegisterRequest input) {
         return authService.register(input);
     }
     
     @MutationMapping
-    public AuthResponse login(@Argument("input") LoginRequest input) {
+    public CompletableFuture<AuthResponse> login(@Argument("input") LoginRequest input) {
         return authService.login(input);
     }
     
@@ -47,6 +53,11 @@ public class MutationResolver {
         return transactionService.createTransaction(input);
     }
     
+    @MutationMapping
+    public List<Transaction> createTransactions(@Argument("inputs") List<TransactionInput> inputs) {
+        return transactionService.createTransactions(inputs);
+    }
+    
     @MutationMapping
     public Transaction updateTransaction(
             @Argument("id") UUID id,
@@ -70,4 +81,12 @@ public class MutationResolver {
             @Argument("factor") BigDecimal factor) {
         return carbonFactorService.updateCarbonFactor(category, factor);
     }
-}
\ No newline at end of file
+    
+    @MutationMapping
+    public FactorRestatementJob restateCarbonFactor(
+            @Argument("category") String category,
+            @Argument("from") OffsetDateTime from,
+            @Argument("to") OffsetDateTime to) {
+        return factorRestatementService.startRestatement(category, from, to);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecobank.core.resolver;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent Query fields concurrently, so an operation selecting several of them
+ * takes about as long as its slowest field instead of the sum. Each field gets its own
+ * virtual thread and waits there for one of maxConcurrency permits, by default the primary
+ * connection pool's maximum size, since every field opens its own transaction in the
+ * service it calls. Fields never run on the calling thread. Each carries the caller's
+ * SecurityContext and the operation's SqlCapture.
+ */
+@Component
+public class QueryFieldExecutor implements DisposableBean {
+
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("graphql-query-", 0).factory());
+    private final TaskDecorator contextPropagation = new ContextPropagatingTaskDecorator();
+
+    @Autowired
+    public QueryFieldExecutor(
+            DataSource dataSource,
+            @Value("${app.graphql.query-executor.max-concurrency:0}") int maxConcurrency) {
+        this(maxConcurrency > 0 ? maxConcurrency : connectionPoolSize(dataSource));
+    }
+
+    public QueryFieldExecutor(int maxConcurrency) {
+        permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * The maximum size of the Hikari pool behind dataSource, looking through the
+     * SQL capturing and replica routing wrappers to the primary pool.
+     */
+    static int connectionPoolSize(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            throw new IllegalStateException(
+                    "Set app.graphql.query-executor.max-concurrency; the data source is not a Hikari pool", e);
+        }
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> field) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return field.get();
+            } finally {
+                permits.release();
+            }
+        }, task -> executor.execute(new DelegatingSecurityContextRunnable(contextPropagation.decorate(task))));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
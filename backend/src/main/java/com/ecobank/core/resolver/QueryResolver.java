@@ -2,19 +2,35 @@ package com.ecobank.core.resolver;
 
 import com.ecobank.core.dto.CarbonStats;
 import com.ecobank.core.dto.CategoryBreakdown;
+import com.ecobank.core.dto.Dashboard;
+import com.ecobank.core.dto.MonthlySummary;
+import com.ecobank.core.dto.TransactionConnection;
+import com.ecobank.core.dto.TransactionView;
+import com.ecobank.core.entity.FactorRestatementJob;
 import com.ecobank.core.entity.Transaction;
 import com.ecobank.core.entity.User;
+import com.ecobank.core.security.AuthenticatedUser;
+import com.ecobank.core.service.FactorRestatementService;
 import com.ecobank.core.service.TransactionService;
 import com.ecobank.core.service.UserService;
+import com.ecobank.core.service.UserStatsCache;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
@@ -22,14 +38,18 @@ public class QueryResolver {
     
     private final UserService userService;
     private final TransactionService transactionService;
+    private final QueryFieldExecutor queryFieldExecutor;
+    private final FactorRestatementService factorRestatementService;
+    private final UserStatsCache userStatsCache;
     
     @QueryMapping
-    public User getCurrentUser() {
-        return userService.getCurrentUser();
+    public CompletableFuture<User> getCurrentUser() {
+        return queryFieldExecutor.supply(userService::getCurrentUser);
     }
     
     @QueryMapping
     public User getUser(@Argument("id") UUID id) {
+        requireOwnerOrAdmin(id);
         return userService.getUserById(id);
     }
     
@@ -45,29 +65,126 @@ public class QueryResolver {
     }
     
     @QueryMapping
-    public List<Transaction> getUserTransactions(@Argument("userId") UUID userId) {
-        return transactionService.getUserTransactions(userId);
+    public List<TransactionView> getUserTransactions(
+            @Argument("userId") UUID userId,
+            DataFetchingFieldSelectionSet selectionSet) {
+        requireOwnerOrAdmin(userId);
+        return transactionService.getUserTransactions(userId, selectedFields(selectionSet));
     }
     
     @QueryMapping
-    public List<Transaction> getCurrentUserTransactions() {
-        return transactionService.getCurrentUserTransactions();
+    public List<TransactionView> getCurrentUserTransactions(DataFetchingFieldSelectionSet selectionSet) {
+        return transactionService.getCurrentUserTransactions(selectedFields(selectionSet));
     }
     
     @QueryMapping
-    public CarbonStats getCarbonStats(@Argument("userId") UUID userId) {
-        return transactionService.getCarbonStats(userId);
+    public List<TransactionView> getAllTransactions(DataFetchingFieldSelectionSet selectionSet) {
+        return transactionService.getCurrentUserTransactions(selectedFields(selectionSet));
     }
     
     @QueryMapping
-    public List<CategoryBreakdown> getCategoryBreakdown(@Argument("userId") UUID userId) {
-        return transactionService.getCategoryBreakdownList(userId);
+    public List<TransactionView> getTransactionsByCategory(
+            @Argument("category") String category,
+            DataFetchingFieldSelectionSet selectionSet) {
+        return transactionService.getTransactionsByCategory(category, selectedFields(selectionSet));
     }
     
     @QueryMapping
-    public List<Double> getMonthlyHistoricalCarbon(@Argument("userId") UUID userId) {
-        return transactionService.getMonthlyHistoricalCarbon(userId).stream()
-                .map(BigDecimal::doubleValue)
-                .toList();
+    public TransactionConnection getUserTransactionsConnection(
+            @Argument("userId") UUID userId,
+            @Argument("first") Integer first,
+            @Argument("after") String after) {
+        requireOwnerOrAdmin(userId);
+        return transactionService.getUserTransactionsConnection(userId, first, after);
+    }
+    
+    @QueryMapping
+    public TransactionConnection getAllTransactionsConnection(
+            @Argument("first") Integer first,
+            @Argument("after") String after) {
+        return transactionService.getCurrentUserTransactionsConnection(first, after);
+    }
+    
+    @QueryMapping
+    public TransactionConnection getTransactionsByCategoryConnection(
+            @Argument("category") String category,
+            @Argument("first") Integer first,
+            @Argument("after") String after) {
+        return transactionService.getTransactionsByCategoryConnection(category, first, after);
+    }
+    
+    @QueryMapping
+    public CompletableFuture<MonthlySummary> getMonthlySummary(
+            @Argument("userId") UUID userId,
+            @Argument("year") Integer year,
+            @Argument("month") Integer month) {
+        requireOwnerOrAdmin(userId);
+        return queryFieldExecutor.supply(() -> transactionService.getMonthlySummary(userId, year, month));
+    }
+    
+    @QueryMapping
+    public CompletableFuture<CarbonStats> getCarbonStats(@Argument("userId") UUID userId) {
+        requireOwnerOrAdmin(userId);
+        return queryFieldExecutor.supply(() -> userStatsCache.getCarbonStats(
+                userId, () -> transactionService.getCarbonStats(userId)));
+    }
+    
+    @QueryMapping
+    public CompletableFuture<List<CategoryBreakdown>> getCategoryBreakdown(@Argument("userId") UUID userId) {
+        requireOwnerOrAdmin(userId);
+        return queryFieldExecutor.supply(() -> userStatsCache.getCategoryBreakdown(
+                userId, () -> transactionService.getCategoryBreakdownList(userId)));
+    }
+    
+    @QueryMapping
+    public CompletableFuture<List<Double>> getMonthlyHistoricalCarbon(
+            @Argument("userId") UUID userId,
+            @Argument("months") Integer months) {
+        requireOwnerOrAdmin(userId);
+        return queryFieldExecutor.supply(() -> {
+            List<BigDecimal> history = months != null
+                    ? transactionService.getMonthlyHistoricalCarbon(userId, months)
+                    : transactionService.getMonthlyHistoricalCarbon(userId);
+            return history.stream()
+                    .map(BigDecimal::doubleValue)
+                    .toList();
+        });
+    }
+    
+    @QueryMapping
+    public CompletableFuture<Dashboard> getDashboard(
+            @Argument("userId") UUID userId,
+            @Argument("months") Integer months) {
+        requireOwnerOrAdmin(userId);
+        return queryFieldExecutor.supply(() -> months != null
+                ? transactionService.getDashboard(userId, months)
+                : transactionService.getDashboard(userId));
+    }
+    
+    @QueryMapping
+    public FactorRestatementJob getFactorRestatement(@Argument("id") UUID id) {
+        return factorRestatementService.getRestatement(id);
+    }
+    
+    /**
+     * Fields taking a userId return that user's transactions and carbon data, so only the
+     * user or an admin may read them. Checked on the calling thread, before any work is queued.
+     */
+    private static void requireOwnerOrAdmin(UUID userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new AccessDeniedException("Authentication required");
+        }
+        boolean admin = user.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin && !user.getId().equals(userId)) {
+            throw new AccessDeniedException("Cannot read another user's data");
+        }
+    }
+    
+    private static Set<String> selectedFields(DataFetchingFieldSelectionSet selectionSet) {
+        return selectionSet.getImmediateFields().stream()
+                .map(SelectedField::getName)
+                .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,48 @@
+package com.ecobank.core.resolver;
+
+import com.ecobank.core.dto.CarbonUpdate;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.security.AuthenticatedUser;
+import com.ecobank.core.service.TransactionEventBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+@Controller
+@RequiredArgsConstructor
+public class SubscriptionResolver {
+    
+    private final TransactionEventBus transactionEventBus;
+    
+    @SubscriptionMapping
+    public Flux<Transaction> transactionCreated(@Argument UUID userId) {
+        requireCurrentUser(userId);
+        return transactionEventBus.subscribeTransactionsCreated(userId);
+    }
+    
+    @SubscriptionMapping
+    public Flux<CarbonUpdate> carbonFootprintUpdated(@Argument UUID userId) {
+        requireCurrentUser(userId);
+        return transactionEventBus.subscribeCarbonUpdates(userId);
+    }
+    
+    /**
+     * Events carry the user's transactions, so only that user may subscribe. The principal
+     * is set by WebSocketAuthInterceptor from the token sent in connection_init.
+     */
+    private static void requireCurrentUser(UUID userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)
+                || !user.getId().equals(userId)) {
+            throw new AccessDeniedException("Cannot subscribe to another user's events");
+        }
+    }
+}
@@ -1,10 +1,46 @@
 package com.ecobank.core.resolver;
 
+import com.ecobank.core.dto.TransactionView;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 /**
- * This class is deprecated. All transaction-related GraphQL resolvers are now in QueryResolver and MutationResolver.
- * Kept for backward compatibility but not used.
+ * Field resolvers for the Transaction type. Query and mutation entry points live
+ * in QueryResolver and MutationResolver.
  */
-@Deprecated
+@Controller
+@RequiredArgsConstructor
 public class TransactionResolver {
-    // All functionality moved to QueryResolver and MutationResolver
+    
+    private final UserService userService;
+    
+    /**
+     * Sources are entities for single reads, connections and mutations, and
+     * TransactionView projections for the list queries.
+     */
+    @BatchMapping(typeName = "Transaction", field = "user")
+    public List<User> resolveUser(List<?> transactions) {
+        List<UUID> userIds = transactions.stream().map(TransactionResolver::userId).toList();
+        Map<UUID, User> users = userService.getUsersByIds(userIds.stream().distinct().toList());
+        
+        return userIds.stream()
+                .map(users::get)
+                .toList();
+    }
+    
+    private static UUID userId(Object transaction) {
+        if (transaction instanceof TransactionView view) {
+            return view.getUserId();
+        }
+        // Reading the id from a lazy proxy does not initialize it, so this is one query in total
+        return ((Transaction) transaction).getUser().getId();
+    }
 }
@@ -4,10 +4,11 @@ import com.ecobank.core.entity.Transaction;
 import com.ecobank.core.entity.User;
 import com.ecobank.core.service.TransactionService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Controller
@@ -16,9 +17,14 @@ public class UserResolver {
     
     private final TransactionService transactionService;
     
-    @SchemaMapping(typeName = "User", field = "transactions")
-    public List<Transaction> resolveTransactions(User user) {
-        // Return transactions for the user
-        return transactionService.getUserTransactions(user.getId());
+    @BatchMapping(typeName = "User", field = "transactions")
+    public List<List<Transaction>> resolveTransactions(List<User> users) {
+        // One query for every user in the selection, returned in the same order as the keys
+        Map<UUID, List<Transaction>> byUser = transactionService.getTransactionsByUserIds(
+                users.stream().map(User::getId).distinct().toList());
+        
+        return users.stream()
+                .map(user -> byUser.getOrDefault(user.getId(), List.of()))
+                .toList();
     }
 }
@@ -0,0 +1,95 @@
+package com.ecobank.core.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small dedicated pool, so a burst of logins uses at most pool-size
+ * cores and never holds request threads. Work beyond the queue capacity is rejected at
+ * once rather than queued behind hashes that would finish after the client gave up.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final ThreadPoolTaskExecutor executor;
+
+    // Unknown emails are checked against this hash so they cost as much as a wrong password
+    private final String unknownUserHash;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            @Value("${app.security.bcrypt.strength:10}") int strength,
+            @Value("${app.security.password-hashing.pool-size:2}") int poolSize,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        unknownUserHash = passwordEncoder.encode("unknown-user");
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against a stored hash, or against a dummy hash when there is no user.
+     * A match on a hash of another cost than the configured one comes with a new hash to store.
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, String storedHash) {
+        return submit(() -> {
+            if (storedHash == null) {
+                passwordEncoder.matches(rawPassword, unknownUserHash);
+                return new Verification(false, null);
+            }
+            if (!passwordEncoder.matches(rawPassword, storedHash)) {
+                return new Verification(false, null);
+            }
+            return new Verification(true, needsRehash(storedHash) ? passwordEncoder.encode(rawPassword) : null);
+        });
+    }
+
+    // BCrypt hashes read $2a$<cost>$<salt and hash>
+    boolean needsRehash(String hash) {
+        if (hash.length() < 7 || !hash.startsWith("$2") || hash.charAt(6) != '$') {
+            return true;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Too many authentication requests, please try again shortly"));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecobank.core.security;
+
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by email, so a
+ * request with a valid JWT does not hit the users table before business logic.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.security.principal-cache.ttl:5m}") Duration ttl,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public AuthenticatedUser get(String email) {
+        AuthenticatedUser cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        // Load outside Cache.get: its mapping function runs under a map lock, which would
+        // pin a virtual thread's carrier for the whole database round trip
+        AuthenticatedUser loaded = load(email);
+        cache.put(email, loaded);
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    /**
+     * Evicts the principal once the surrounding transaction commits, or immediately when
+     * called outside a transaction, so a concurrent request cannot re-cache the old row.
+     */
+    public void invalidateAfterCommit(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        } else {
+            cache.invalidate(email);
+        }
+    }
+
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    private AuthenticatedUser load(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        return new AuthenticatedUser(user.getId(), user.getEmail(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
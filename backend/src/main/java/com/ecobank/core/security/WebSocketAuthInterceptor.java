@@ -0,0 +1,72 @@
+package com.ecobank.core.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Map;
+
+/**
+ * Authenticates GraphQL WebSocket sessions. Browsers cannot send an Authorization header
+ * on the upgrade request, so the JWT comes in the connection_init payload instead; a
+ * session without a valid token is closed with 4401 before any subscription starts.
+ * Every operation on an authenticated session then runs with that user's security
+ * context, exactly as an HTTP request through JwtAuthenticationFilter would.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketAuthInterceptor implements WebSocketGraphQlInterceptor {
+
+    static final String AUTHORIZATION_KEY = "Authorization";
+
+    private static final String AUTHENTICATION_ATTRIBUTE = WebSocketAuthInterceptor.class.getName() + ".authentication";
+
+    // Key Spring GraphQL propagates the SecurityContext under, from Reactor context to controllers
+    private static final String SECURITY_CONTEXT_KEY = SecurityContext.class.getName();
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalCache principalCache;
+
+    @Override
+    public Mono<Object> handleConnectionInitialization(WebSocketSessionInfo sessionInfo, Map<String, Object> payload) {
+        return Mono.fromRunnable(() -> {
+            Claims claims = jwtTokenProvider.parseClaims(token(payload.get(AUTHORIZATION_KEY)))
+                    .orElseThrow(() -> new BadCredentialsException("Missing or invalid token"));
+            AuthenticatedUser user = principalCache.get(claims.getSubject());
+            sessionInfo.getAttributes().put(AUTHENTICATION_ATTRIBUTE,
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        });
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (request instanceof WebSocketGraphQlRequest webSocketRequest
+                && webSocketRequest.getSessionInfo().getAttributes().get(AUTHENTICATION_ATTRIBUTE)
+                        instanceof Authentication authentication) {
+            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+            securityContext.setAuthentication(authentication);
+            // Written closest to the source, so it wins over the anonymous context captured at handshake
+            return chain.next(request).contextWrite(Context.of(SECURITY_CONTEXT_KEY, securityContext));
+        }
+        return chain.next(request);
+    }
+
+    private static String token(Object authorization) {
+        if (!(authorization instanceof String value)) {
+            return null;
+        }
+        return value.startsWith("Bearer ") ? value.substring(7) : value;
+    }
+}
@@ -7,85 +7,80 @@ import com.ecobank.core.dto.AuthResponse;
 import com.ecobank.core.entity.User;
 import com.ecobank.core.repository.UserRepository;
 import com.ecobank.core.security.JwtTokenProvider;
+import com.ecobank.core.security.PasswordHasher;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
     
-    public AuthResponse register(RegisterRequest request) {
+    // Spring Boot's task executor, matched by name; database work after a hash runs here so
+    // the small hashing pool only ever runs BCrypt
+    private final Executor applicationTaskExecutor;
+    
+    /**
+     * Hashes the password on the PasswordHasher pool, then saves the user in its own
+     * transaction and completes with their tokens.
+     */
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
         
-        User user = new User();
-        user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        user.setFirstName(request.getFirstName());
-        user.setLastName(request.getLastName());
-        user.setPhoneNumber(request.getPhoneNumber());
-        
-        User savedUser = userRepository.save(user);
-        
-        String token = jwtTokenProvider.generateToken(savedUser.getEmail());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(savedUser.getEmail());
-        
-        return AuthResponse.builder()
-                .token(token)
-                .refreshToken(refreshToken)
-                .user(userService.mapToUserProfile(savedUser))
-                .build();
+        return passwordHasher.encode(request.getPassword()).thenApplyAsync(
+                passwordHash -> authResponse(userService.createUser(request, passwordHash)),
+                applicationTaskExecutor);
     }
     
-    public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
-        
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Loads the user once, then verifies the password on the PasswordHasher pool. A hash
+     * made with another BCrypt cost than the configured one is replaced after a match, on
+     * the user already loaded and in its own transaction.
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        Optional<User> found = userRepository.findByEmail(request.getEmail());
         
-        String token = jwtTokenProvider.generateToken(user.getEmail());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
-        
-        return AuthResponse.builder()
-                .token(token)
-                .refreshToken(refreshToken)
-                .user(userService.mapToUserProfile(user))
-                .build();
+        return passwordHasher.verify(request.getPassword(), found.map(User::getPasswordHash).orElse(null))
+                .thenApplyAsync(verification -> {
+                    if (!verification.matches()) {
+                        throw new BadCredentialsException("Bad credentials");
+                    }
+                    User user = found.get();
+                    if (verification.upgradedHash() != null) {
+                        userService.updatePasswordHash(user, verification.upgradedHash());
+                    }
+                    return authResponse(user);
+                }, applicationTaskExecutor);
     }
     
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new RuntimeException("Invalid refresh token");
-        }
-        
-        String email = jwtTokenProvider.getUsernameFromToken(refreshToken);
+        String email = jwtTokenProvider.parseClaims(refreshToken)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        String newToken = jwtTokenProvider.generateToken(user.getEmail());
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
-        
+        return authResponse(user);
+    }
+    
+    private AuthResponse authResponse(User user) {
         return AuthResponse.builder()
-                .token(newToken)
-                .refreshToken(newRefreshToken)
+                .token(jwtTokenProvider.generateToken(user.getEmail()))
+                .refreshToken(jwtTokenProvider.generateRefreshToken(user.getEmail()))
                 .user(userService.mapToUserProfile(user))
                 .build();
     }
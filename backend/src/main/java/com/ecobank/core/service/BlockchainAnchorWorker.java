@@ -0,0 +1,39 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.entity.BlockchainAnchor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Drains the anchor outbox every flush interval. Each pass claims and submits
+ * batches until nothing is due, the ledger fails, or a partial batch has been
+ * sent, so a transaction waits at most one interval plus processing time.
+ * Claiming and recording run in their own transactions; the ledger call in between
+ * holds neither a lock nor a connection.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlockchainAnchorWorker {
+
+    private final BlockchainService blockchainService;
+
+    @Scheduled(fixedDelayString = "${app.blockchain.anchor.flush-interval-ms:5000}")
+    public void drain() {
+        try {
+            Optional<BlockchainAnchor> batch;
+            while ((batch = blockchainService.claimNextBatch()).isPresent()) {
+                BlockchainAnchor anchor = batch.get();
+                if (!blockchainService.submit(anchor) || anchor.getLeafCount() < blockchainService.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Anchor outbox drain failed", e);
+        }
+    }
+}
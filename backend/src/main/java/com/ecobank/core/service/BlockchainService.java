@@ -1,16 +1,171 @@
 package com.ecobank.core.service;
 
+import com.ecobank.core.entity.AnchorOutboxEntry;
+import com.ecobank.core.entity.BlockchainAnchor;
 import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.repository.AnchorOutboxRepository;
+import com.ecobank.core.repository.BlockchainAnchorRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Blockchain anchoring through a transactional outbox. The write path only inserts
+ * outbox rows in its own commit; BlockchainAnchorWorker later groups pending rows
+ * into Merkle-rooted anchors, so ledger latency never reaches the caller. Batches
+ * are stored before they are sent, and the ledger call runs outside any transaction.
+ */
 @Service
+@RequiredArgsConstructor
+@Transactional
 @Slf4j
 public class BlockchainService {
     
+    private static final DateTimeFormatter LEAF_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS'Z'").withZone(ZoneOffset.UTC);
+    
+    private final AnchorOutboxRepository outboxRepository;
+    private final BlockchainAnchorRepository anchorRepository;
+    private final LedgerClient ledgerClient;
+    
+    @Value("${app.blockchain.anchor.batch-size:256}")
+    private int batchSize = 256;
+    
+    @Value("${app.blockchain.anchor.retry-backoff:30s}")
+    private Duration retryBackoff = Duration.ofSeconds(30);
+    
+    @Value("${app.blockchain.anchor.max-retry-backoff:1h}")
+    private Duration maxRetryBackoff = Duration.ofHours(1);
+    
     public void recordTransactionAsync(Transaction transaction) {
-        // TODO: Implement blockchain integration
-        // For now, just log
-        log.info("Transaction would be recorded on blockchain: {}", transaction.getId());
+        outboxRepository.save(toOutboxEntry(transaction));
+    }
+    
+    public void recordTransactionsAsync(List<Transaction> transactions) {
+        outboxRepository.saveAll(transactions.stream()
+                .map(BlockchainService::toOutboxEntry)
+                .toList());
+    }
+    
+    /**
+     * Claims the next batch to send to the ledger. A stored batch that is due again
+     * (its submission failed, or its worker stopped mid-call) comes first; otherwise up
+     * to one batch of outbox rows is grouped under a new anchor and committed with its
+     * Merkle root, so a retry resubmits exactly the same rows. Either way next_attempt_at
+     * is pushed out by the retry backoff, leasing the batch to this worker until then.
+     */
+    public Optional<BlockchainAnchor> claimNextBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Optional<BlockchainAnchor> due = anchorRepository.claimUnsubmitted();
+        if (due.isPresent()) {
+            BlockchainAnchor anchor = due.get();
+            anchor.setNextAttemptAt(now.plus(backoff(anchor.getAttempts() + 1)));
+            return Optional.of(anchorRepository.save(anchor));
+        }
+        
+        List<AnchorOutboxEntry> entries = outboxRepository.claimPending(batchSize);
+        if (entries.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        // Leaves are ordered by transaction id so the root can be recomputed from the rows
+        List<AnchorOutboxEntry> leaves = entries.stream()
+                .sorted(Comparator.comparing(AnchorOutboxEntry::getTransactionId))
+                .toList();
+        BlockchainAnchor anchor = anchorRepository.save(BlockchainAnchor.builder()
+                .merkleRoot(MerkleTree.root(leaves.stream().map(AnchorOutboxEntry::getLeafHash).toList()))
+                .leafCount(leaves.size())
+                .nextAttemptAt(now.plus(backoff(1)))
+                .build());
+        for (AnchorOutboxEntry entry : leaves) {
+            entry.setAnchorId(anchor.getId());
+        }
+        outboxRepository.saveAll(leaves);
+        return Optional.of(anchor);
+    }
+    
+    /**
+     * Sends a claimed batch to the ledger outside any transaction, so no row lock or
+     * connection is held across the call, then records the outcome. A failure backs
+     * the batch off exponentially; the same batch id is resubmitted when it is due.
+     *
+     * @return whether the ledger accepted the batch
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean submit(BlockchainAnchor anchor) {
+        try {
+            anchor.setLedgerReference(ledgerClient.anchor(anchor.getId(), anchor.getMerkleRoot(), anchor.getLeafCount()));
+            anchor.setLastError(null);
+        } catch (RuntimeException e) {
+            anchor.setAttempts(anchor.getAttempts() + 1);
+            anchor.setNextAttemptAt(OffsetDateTime.now().plus(backoff(anchor.getAttempts())));
+            anchor.setLastError(truncate(e.getMessage()));
+            anchorRepository.save(anchor);
+            log.warn("Anchoring batch {} of {} transactions failed, will retry: {}",
+                    anchor.getId(), anchor.getLeafCount(), e.getMessage());
+            return false;
+        }
+        
+        anchorRepository.save(anchor);
+        log.info("Anchored {} transactions under root {} ({})",
+                anchor.getLeafCount(), anchor.getMerkleRoot(), anchor.getLedgerReference());
+        return true;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    private static AnchorOutboxEntry toOutboxEntry(Transaction transaction) {
+        return AnchorOutboxEntry.builder()
+                .transactionId(transaction.getId())
+                .leafHash(leafHash(transaction))
+                .build();
+    }
+    
+    /**
+     * Hashes the transaction as the database stores it, so a verifier can rebuild the
+     * leaf from the row: transaction_date holds microseconds (Postgres rounds anything
+     * finer) and is rendered in UTC whatever offset the value carries. carbon_footprint
+     * is left out: it is derived from the emission factor and rewritten by factor
+     * restatements, which must not invalidate proofs of what the user actually spent.
+     */
+    static String leafHash(Transaction transaction) {
+        return MerkleTree.hash(String.join("|",
+                String.valueOf(transaction.getId()),
+                String.valueOf(transaction.getUser().getId()),
+                transaction.getAmount().toPlainString(),
+                transaction.getCurrency(),
+                transaction.getCategory(),
+                LEAF_DATE_FORMAT.format(storedInstant(transaction.getTransactionDate()))));
+    }
+    
+    private static Instant storedInstant(OffsetDateTime date) {
+        return date.toInstant().plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+    }
+    
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+    
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
     }
-}
\ No newline at end of file
+}
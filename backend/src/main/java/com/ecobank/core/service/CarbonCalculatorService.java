@@ -15,6 +15,7 @@ import java.util.Map;
 public class CarbonCalculatorService {
     
     private final CarbonFactorRepository carbonFactorRepository;
+    private final EmissionFactorCache emissionFactorCache;
     
     // Default emission factors if not in database
     private static final Map<String, BigDecimal> DEFAULT_FACTORS = new HashMap<>();
@@ -35,15 +36,42 @@ public class CarbonCalculatorService {
                 .setScale(2, RoundingMode.HALF_UP);
     }
     
+    /**
+     * Calculates a footprint against a factor snapshot captured once by the caller,
+     * so a bulk import uses one consistent set of factors even if they are reloaded mid-batch.
+     */
+    public BigDecimal calculateCarbonFootprint(BigDecimal amount, String category, Map<String, BigDecimal> factors) {
+        String key = category.toUpperCase();
+        BigDecimal emissionFactor = factors.get(key);
+        if (emissionFactor == null) {
+            emissionFactor = DEFAULT_FACTORS.getOrDefault(key, new BigDecimal("0.5"));
+        }
+        
+        return amount.multiply(emissionFactor)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    public Map<String, BigDecimal> getEmissionFactorSnapshot() {
+        return emissionFactorCache.getSnapshot();
+    }
+    
     public BigDecimal getEmissionFactor(String category) {
-        return carbonFactorRepository.findByCategory(category.toUpperCase())
-                .map(CarbonFactor::getEmissionFactor)
+        return emissionFactorCache.find(category.toUpperCase())
                 .orElseGet(() -> DEFAULT_FACTORS.getOrDefault(
                     category.toUpperCase(), 
                     new BigDecimal("0.5") // Default factor
                 ));
     }
     
+    /**
+     * Like getEmissionFactor, but first checks the table for changes made by other
+     * instances, for callers that must not act on a stale factor.
+     */
+    public BigDecimal getCurrentEmissionFactor(String category) {
+        emissionFactorCache.refreshIfChanged();
+        return getEmissionFactor(category);
+    }
+    
     public CarbonFactor updateCarbonFactor(String category, BigDecimal factor) {
         CarbonFactor carbonFactor = carbonFactorRepository.findByCategory(category)
                 .orElse(CarbonFactor.builder().build());
@@ -51,6 +79,8 @@ public class CarbonCalculatorService {
         carbonFactor.setCategory(category.toUpperCase());
         carbonFactor.setEmissionFactor(factor);
         
-        return carbonFactorRepository.save(carbonFactor);
+        CarbonFactor saved = carbonFactorRepository.save(carbonFactor);
+        emissionFactorCache.reloadAfterCommit();
+        return saved;
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import java.util.Optional;
 public class CarbonFactorService {
 
     private final CarbonFactorRepository carbonFactorRepository;
+    private final EmissionFactorCache emissionFactorCache;
 
     @PreAuthorize("hasRole('ADMIN')")
     public CarbonFactor updateCarbonFactor(String category, BigDecimal factor) {
@@ -33,6 +34,8 @@ public class CarbonFactorService {
                     .build();
         }
         
-        return carbonFactorRepository.save(carbonFactor);
+        CarbonFactor saved = carbonFactorRepository.save(carbonFactor);
+        emissionFactorCache.reloadAfterCommit();
+        return saved;
     }
 }
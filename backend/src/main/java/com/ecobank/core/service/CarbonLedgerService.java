@@ -0,0 +1,183 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.LedgerReconciliationReport;
+import com.ecobank.core.entity.MonthlyCarbonLedger;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.repository.MonthlyCarbonLedgerRepository;
+import com.ecobank.core.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maintains per-user, per-month carbon running totals. Writes apply deltas in
+ * the caller's transaction so reads never have to re-aggregate transaction history.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CarbonLedgerService {
+
+    private final MonthlyCarbonLedgerRepository ledgerRepository;
+    private final UserRepository userRepository;
+    private final UserStatsCache userStatsCache;
+
+    @Value("${app.ledger.reconcile-chunk-size:500}")
+    private int reconcileChunkSize = 500;
+
+    public void recordTransaction(Transaction transaction) {
+        applyDelta(transaction.getUser().getId(), ledgerMonth(transaction.getTransactionDate()),
+                transaction.getCarbonFootprint(), transaction.getAmount(), 1);
+    }
+
+    /**
+     * Applies one delta per (user, month) for a batch of new transactions.
+     */
+    public void recordTransactions(List<Transaction> transactions) {
+        Map<LedgerKey, MonthlyCarbonLedger> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            YearMonth month = ledgerMonth(transaction.getTransactionDate());
+            LedgerKey key = new LedgerKey(transaction.getUser().getId(), month.getYear(), month.getMonthValue());
+            MonthlyCarbonLedger delta = deltas.computeIfAbsent(key, k -> MonthlyCarbonLedger.builder().build());
+            delta.setTotalCarbon(delta.getTotalCarbon().add(transaction.getCarbonFootprint()));
+            delta.setTotalAmount(delta.getTotalAmount().add(transaction.getAmount()));
+            delta.setTransactionCount(delta.getTransactionCount() + 1);
+        }
+
+        deltas.forEach((key, delta) -> ledgerRepository.applyDelta(key.userId(), key.year(), key.month(),
+                delta.getTotalCarbon(), delta.getTotalAmount(), delta.getTransactionCount()));
+    }
+
+    public void removeTransaction(Transaction transaction) {
+        applyDelta(transaction.getUser().getId(), ledgerMonth(transaction.getTransactionDate()),
+                transaction.getCarbonFootprint().negate(), transaction.getAmount().negate(), -1);
+    }
+
+    public void adjustTransaction(Transaction transaction, BigDecimal previousCarbon, BigDecimal previousAmount) {
+        BigDecimal carbonDelta = transaction.getCarbonFootprint().subtract(previousCarbon);
+        BigDecimal amountDelta = transaction.getAmount().subtract(previousAmount);
+        if (carbonDelta.signum() == 0 && amountDelta.signum() == 0) {
+            return;
+        }
+        applyDelta(transaction.getUser().getId(), ledgerMonth(transaction.getTransactionDate()),
+                carbonDelta, amountDelta, 0);
+    }
+
+    public static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private void applyDelta(UUID userId, YearMonth month, BigDecimal carbon, BigDecimal amount, int count) {
+        ledgerRepository.applyDelta(userId, month.getYear(), month.getMonthValue(), carbon, amount, count);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<MonthlyCarbonLedger> getMonth(UUID userId, YearMonth month) {
+        return ledgerRepository.findByUserIdAndYearAndMonth(userId, month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * The month's carbon from the ledger, or from its transactions if it has no ledger row.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getMonthlyCarbon(UUID userId, YearMonth month) {
+        return getCarbonByMonth(userId, month, month).getOrDefault(month, BigDecimal.ZERO);
+    }
+
+    /**
+     * Carbon per month from firstMonth to lastMonth inclusive, with the same transactions
+     * fallback as getMonthlyCarbon. Months with no carbon at all are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<YearMonth, BigDecimal> getCarbonByMonth(UUID userId, YearMonth firstMonth, YearMonth lastMonth) {
+        Map<YearMonth, BigDecimal> carbonByMonth = new HashMap<>();
+        for (Object[] row : ledgerRepository.getCarbonByMonth(userId, monthIndex(firstMonth), monthIndex(lastMonth))) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            carbonByMonth.put(month, (BigDecimal) row[2]);
+        }
+        return carbonByMonth;
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalCarbon(UUID userId) {
+        BigDecimal total = ledgerRepository.getTotalCarbonByUserId(userId);
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    /**
+     * Rebuilds the ledger rows of the next reconcile-chunk-size users after afterUserId,
+     * in id order, from the transactions table, and reports what was repaired. Only those
+     * users are locked against deltas, and only until this chunk commits, so every
+     * statement after the lock sees each of their writes either in both tables or in neither.
+     *
+     * @return the chunk, or empty once no users are left
+     */
+    public Optional<ReconciledChunk> reconcileChunk(UUID afterUserId) {
+        List<UUID> userIds = userRepository.findIdsAfter(afterUserId, PageRequest.ofSize(reconcileChunkSize));
+        if (userIds.isEmpty()) {
+            return Optional.empty();
+        }
+        ledgerRepository.lockUsersAgainstDeltas(userIds);
+        long rowsChecked = ledgerRepository.countByUserIdIn(userIds);
+
+        int drifted = 0;
+        int missing = 0;
+        int orphaned = 0;
+        int empty = 0;
+        BigDecimal carbonDrift = BigDecimal.ZERO;
+        Set<UUID> affectedUsers = new HashSet<>();
+        for (Object[] row : ledgerRepository.rebuildFromTransactions(userIds)) {
+            switch ((String) row[1]) {
+                case "DRIFTED" -> drifted++;
+                case "MISSING" -> missing++;
+                case "ORPHANED" -> orphaned++;
+                default -> {
+                    // Zero rows left by deletes are tidied up, not drift
+                    empty++;
+                    continue;
+                }
+            }
+            affectedUsers.add((UUID) row[0]);
+            carbonDrift = carbonDrift.add((BigDecimal) row[2]);
+        }
+        affectedUsers.forEach(userStatsCache::invalidateAfterCommit);
+
+        return Optional.of(new ReconciledChunk(userIds.get(userIds.size() - 1), LedgerReconciliationReport.builder()
+                .rowsChecked((int) rowsChecked)
+                .driftedRows(drifted)
+                .missingRows(missing)
+                .orphanedRows(orphaned)
+                .emptyRows(empty)
+                .totalCarbonDrift(carbonDrift)
+                .build()));
+    }
+
+    public record ReconciledChunk(UUID lastUserId, LedgerReconciliationReport report) {
+    }
+
+    /**
+     * The ledger month a transaction belongs to. transaction_date is stored as wall time
+     * in the application's zone and reconcile() buckets on that, so deltas must use the
+     * same zone rather than whatever offset the incoming date carries.
+     */
+    static YearMonth ledgerMonth(OffsetDateTime transactionDate) {
+        return YearMonth.from(transactionDate.atZoneSameInstant(ZoneId.systemDefault()));
+    }
+
+    private record LedgerKey(UUID userId, int year, int month) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.entity.CarbonFactor;
+import com.ecobank.core.repository.CarbonFactorRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable, category-indexed snapshot of the carbon_factors table.
+ * The snapshot is loaded once at startup and swapped atomically after every
+ * committed factor update, so footprint calculation never queries the database.
+ * Updates made by other instances or directly in SQL are picked up by a periodic
+ * version check, which reloads only when the table has changed.
+ */
+@Component
+@Slf4j
+public class EmissionFactorCache {
+
+    private final CarbonFactorRepository carbonFactorRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    // Orders reloads by when they started reading, so a slow one cannot replace a newer snapshot
+    private final AtomicLong loadSequence = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    public EmissionFactorCache(CarbonFactorRepository carbonFactorRepository, MeterRegistry meterRegistry) {
+        this.carbonFactorRepository = carbonFactorRepository;
+        FunctionCounter.builder("emission.factors.lookups", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("emission.factors.lookups", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("emission.factors.reloads", reloads, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Looks up the factor for an upper-cased category. A miss means the category
+     * is not in the table and the caller should fall back to its defaults.
+     */
+    public Optional<BigDecimal> find(String category) {
+        BigDecimal factor = getSnapshot().get(category);
+        if (factor != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return Optional.ofNullable(factor);
+    }
+
+    public Map<String, BigDecimal> getSnapshot() {
+        Snapshot current = snapshot.get();
+        return current != null ? current.factors() : reload();
+    }
+
+    /**
+     * Reloads the snapshot if carbon_factors changed since it was loaded. Inside a
+     * read-write transaction both queries run on the primary, so the caller sees the
+     * latest committed factors rather than the replica's.
+     */
+    @Scheduled(fixedDelayString = "${app.factors.refresh-interval:30s}")
+    public void refreshIfChanged() {
+        String version = carbonFactorRepository.getFactorsVersion();
+        Snapshot current = snapshot.get();
+        if (current == null || !Objects.equals(version, current.version())) {
+            reload();
+        }
+    }
+
+    /**
+     * Loads the table and installs it unless a reload that started later has already
+     * installed its snapshot, as when reloadAfterCommit and refreshIfChanged overlap.
+     *
+     * @return the installed factors, which may be the newer reload's
+     */
+    public Map<String, BigDecimal> reload() {
+        long sequence = loadSequence.incrementAndGet();
+        // Read before the rows: an edit landing in between just triggers one more reload
+        String version = carbonFactorRepository.getFactorsVersion();
+        Map<String, BigDecimal> factors = new HashMap<>();
+        for (CarbonFactor factor : carbonFactorRepository.findAll()) {
+            factors.put(factor.getCategory().toUpperCase(), factor.getEmissionFactor());
+        }
+
+        Snapshot loaded = new Snapshot(sequence, version, Map.copyOf(factors));
+        Snapshot installed = snapshot.accumulateAndGet(loaded, (current, candidate) ->
+                current == null || candidate.sequence() > current.sequence() ? candidate : current);
+        if (installed != loaded) {
+            log.debug("Discarded emission factors load {}; load {} is newer", sequence, installed.sequence());
+            return installed.factors();
+        }
+        reloads.incrementAndGet();
+        log.info("Loaded {} emission factors into cache", loaded.factors().size());
+        return loaded.factors();
+    }
+
+    /**
+     * Reloads the snapshot once the surrounding transaction commits, or
+     * immediately when called outside a transaction.
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getReloadCount() {
+        return reloads.get();
+    }
+
+    private record Snapshot(long sequence, String version, Map<String, BigDecimal> factors) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.entity.FactorRestatementJob;
+import com.ecobank.core.entity.FactorRestatementJob.Status;
+import com.ecobank.core.repository.FactorRestatementChunkRepository.RestatedChunk;
+import com.ecobank.core.repository.FactorRestatementJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Restates historical footprints after an emission factor changes. Each step runs in its
+ * own transaction: a set-based chunk update while restating, then a page of eco score
+ * updates for the users it touched. FactorRestatementWorker drives the steps.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class FactorRestatementService {
+
+    private final FactorRestatementJobRepository jobRepository;
+    private final CarbonCalculatorService carbonCalculatorService;
+    private final UserService userService;
+    private final UserStatsCache userStatsCache;
+
+    @Value("${app.restatement.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    /**
+     * Queues a restatement of the category's transactions, optionally limited to
+     * {@code from <= transactionDate < to}, against the category's current factor.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public FactorRestatementJob startRestatement(String category, OffsetDateTime from, OffsetDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new RuntimeException("Restatement range must start before it ends");
+        }
+
+        String key = category.toUpperCase();
+        BigDecimal factor = carbonCalculatorService.getCurrentEmissionFactor(key);
+        FactorRestatementJob job = jobRepository.save(FactorRestatementJob.builder()
+                .category(key)
+                .emissionFactor(factor)
+                .fromDate(from)
+                .toDate(to)
+                .totalRows(jobRepository.countRestatable(key, factor, from, to))
+                .build());
+        log.info("Queued restatement {} of {} transactions in {} at factor {}",
+                job.getId(), job.getTotalRows(), key, factor);
+        return job;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    public FactorRestatementJob getRestatement(UUID id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Restatement job not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findUnfinishedJobIds() {
+        return jobRepository.findUnfinishedIds();
+    }
+
+    /**
+     * Runs the job's next chunk or rescoring page.
+     *
+     * @return false once the job has finished or is being run by another worker
+     */
+    public boolean processNextStep(UUID jobId) {
+        FactorRestatementJob job = jobRepository.lockUnfinished(jobId).orElse(null);
+        if (job == null) {
+            return false;
+        }
+
+        if (job.getStatus() == Status.RESCORING) {
+            rescoreNextPage(job);
+        } else {
+            restateNextChunk(job);
+        }
+        jobRepository.save(job);
+        return job.getStatus() != Status.COMPLETED;
+    }
+
+    public void markFailed(UUID jobId, RuntimeException cause) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(Status.FAILED);
+            job.setLastError(truncate(cause.getMessage()));
+            jobRepository.save(job);
+        });
+    }
+
+    private void restateNextChunk(FactorRestatementJob job) {
+        job.setStatus(Status.RUNNING);
+        RestatedChunk chunk = jobRepository.restateChunk(job, chunkSize);
+        if (chunk.rows() > 0) {
+            job.setCursorId(chunk.lastId());
+            job.setRowsUpdated(job.getRowsUpdated() + chunk.rows());
+            // A chunk spans many users, so move everyone on
+            userStatsCache.invalidateAllAfterCommit();
+        }
+        if (chunk.rows() < chunkSize) {
+            job.setStatus(Status.RESCORING);
+        }
+        log.info("Restatement {}: {} of {} transactions restated",
+                job.getId(), job.getRowsUpdated(), job.getTotalRows());
+    }
+
+    private void rescoreNextPage(FactorRestatementJob job) {
+        List<UUID> userIds = jobRepository.findAffectedUserIds(job.getId(), chunkSize);
+        userIds.forEach(userService::updateUserEcoScore);
+        userIds.forEach(userStatsCache::invalidateAfterCommit);
+        if (!userIds.isEmpty()) {
+            jobRepository.deleteAffectedUsers(job.getId(), userIds);
+            job.setUsersRescored(job.getUsersRescored() + userIds.size());
+        }
+        if (userIds.size() < chunkSize) {
+            job.setStatus(Status.COMPLETED);
+            job.setCompletedAt(OffsetDateTime.now());
+            log.info("Restatement {} completed: {} transactions, {} users rescored",
+                    job.getId(), job.getRowsUpdated(), job.getUsersRescored());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecobank.core.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+
+/**
+ * Runs unfinished restatement jobs, including those interrupted by a restart, one step
+ * per tick. Returning between steps keeps the shared scheduler thread free for the anchor
+ * and reconciliation jobs during a long restatement, and the delay between ticks leaves
+ * room on the database for regular traffic. A transient database error (lock or query
+ * timeout, deadlock, lost connection) only pauses the job; anything else fails it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FactorRestatementWorker {
+
+    private final FactorRestatementService restatementService;
+
+    @Value("${app.restatement.poll-interval-ms:10000}")
+    private long pollIntervalMs = 10_000;
+
+    // Only touched from the scheduled method, which never overlaps itself
+    private final Deque<UUID> activeJobs = new ArrayDeque<>();
+    private long nextPollAt;
+
+    @Scheduled(fixedDelayString = "${app.restatement.chunk-pause:200ms}")
+    public void step() {
+        if (activeJobs.isEmpty()) {
+            long now = System.currentTimeMillis();
+            if (now < nextPollAt) {
+                return;
+            }
+            nextPollAt = now + pollIntervalMs;
+            activeJobs.addAll(restatementService.findUnfinishedJobIds());
+            if (activeJobs.isEmpty()) {
+                return;
+            }
+        }
+
+        UUID jobId = activeJobs.peekFirst();
+        try {
+            if (!restatementService.processNextStep(jobId)) {
+                activeJobs.pollFirst();
+            }
+        } catch (RuntimeException e) {
+            activeJobs.pollFirst();
+            if (isTransient(e)) {
+                // The step rolled back and the job is still unfinished, so the next poll resumes it at its cursor
+                log.warn("Restatement {} hit a transient error, resuming after the poll interval: {}",
+                        jobId, e.getMessage());
+                nextPollAt = System.currentTimeMillis() + pollIntervalMs;
+                return;
+            }
+            log.error("Restatement {} failed", jobId, e);
+            restatementService.markFailed(jobId, e);
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+}
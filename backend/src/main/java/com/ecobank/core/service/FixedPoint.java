@@ -0,0 +1,82 @@
+package com.ecobank.core.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic for aggregation paths, with money and carbon as {@code long}
+ * cents. Every method returns exactly what the equivalent BigDecimal expression returns;
+ * values that do not fit (more decimals than cents, or overflow) are reported as
+ * {@link #NOT_REPRESENTABLE} or take the BigDecimal path.
+ */
+final class FixedPoint {
+
+    static final int CENTS_SCALE = 2;
+
+    /** Returned by {@link #toFixed} when a value has no exact long representation. */
+    static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+    private static final long FLOAT_EXACT_LIMIT = 1L << 24;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private FixedPoint() {
+    }
+
+    /**
+     * {@code part.divide(total, 4, RoundingMode.HALF_UP).multiply(new BigDecimal("100")).floatValue()}
+     * for parts and totals in cents with a positive total.
+     */
+    static float percentage(long partCents, long totalCents) {
+        long scaled = multiply(partCents, POWERS_OF_TEN[4]);
+        if (scaled == NOT_REPRESENTABLE) {
+            return BigDecimal.valueOf(partCents, CENTS_SCALE)
+                    .divide(BigDecimal.valueOf(totalCents, CENTS_SCALE), 4, RoundingMode.HALF_UP)
+                    .multiply(HUNDRED)
+                    .floatValue();
+        }
+        long quotient = divideHalfUp(scaled, totalCents);
+        if (Math.abs(quotient) > FLOAT_EXACT_LIMIT) {
+            return BigDecimal.valueOf(quotient, CENTS_SCALE).floatValue();
+        }
+        // The quotient has scale 4, so the percentage is quotient / 100. Both operands are exact
+        // floats, so the division rounds the exact value once, as BigDecimal.floatValue does
+        return quotient / 100f;
+    }
+
+    /**
+     * The value in units of 10^-scale, or {@link #NOT_REPRESENTABLE} if it has more
+     * decimals than {@code scale} or does not fit in a long.
+     */
+    static long toFixed(BigDecimal value, int scale) {
+        int shift = scale - value.scale();
+        if (shift < 0 || shift >= POWERS_OF_TEN.length || value.precision() > 18) {
+            return NOT_REPRESENTABLE;
+        }
+        return multiply(value.unscaledValue().longValue(), POWERS_OF_TEN[shift]);
+    }
+
+    /**
+     * Rounds {@code dividend / divisor} half away from zero, as RoundingMode.HALF_UP does.
+     * The divisor must be positive.
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+    private static long multiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return low;
+        }
+        return NOT_REPRESENTABLE;
+    }
+}
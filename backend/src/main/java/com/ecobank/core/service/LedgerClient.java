@@ -0,0 +1,16 @@
+package com.ecobank.core.service;
+
+import java.util.UUID;
+
+/**
+ * Writes Merkle roots to an external ledger.
+ */
+public interface LedgerClient {
+
+    /**
+     * Anchors a stored batch's Merkle root and returns the ledger's reference for it.
+     * Implementations must be idempotent on the batch id: submitting the same batch
+     * again returns the original reference.
+     */
+    String anchor(UUID batchId, String merkleRoot, int leafCount);
+}
@@ -0,0 +1,73 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.LedgerReconciliationReport;
+import com.ecobank.core.service.CarbonLedgerService.ReconciledChunk;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reconciles the carbon ledger against the transactions table on a schedule, one chunk
+ * of users per transaction. A write only ever waits for the chunk that holds its user,
+ * never for the whole run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerReconciliationWorker {
+
+    // Postgres orders uuids as unsigned bytes, so the nil uuid sorts before every user
+    private static final UUID FIRST_USER = new UUID(0, 0);
+
+    private final CarbonLedgerService carbonLedgerService;
+
+    @Scheduled(cron = "${app.ledger.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        try {
+            LedgerReconciliationReport report = reconcile();
+            if (report.getDriftedRows() + report.getMissingRows() + report.getOrphanedRows() > 0) {
+                log.warn("Carbon ledger drift repaired: {}", report);
+            } else {
+                log.info("Carbon ledger consistent: {}", report);
+            }
+        } catch (RuntimeException e) {
+            log.error("Carbon ledger reconciliation failed", e);
+        }
+    }
+
+    public LedgerReconciliationReport reconcile() {
+        int rowsChecked = 0;
+        int drifted = 0;
+        int missing = 0;
+        int orphaned = 0;
+        int empty = 0;
+        BigDecimal carbonDrift = BigDecimal.ZERO;
+
+        UUID after = FIRST_USER;
+        Optional<ReconciledChunk> chunk;
+        while ((chunk = carbonLedgerService.reconcileChunk(after)).isPresent()) {
+            LedgerReconciliationReport report = chunk.get().report();
+            rowsChecked += report.getRowsChecked();
+            drifted += report.getDriftedRows();
+            missing += report.getMissingRows();
+            orphaned += report.getOrphanedRows();
+            empty += report.getEmptyRows();
+            carbonDrift = carbonDrift.add(report.getTotalCarbonDrift());
+            after = chunk.get().lastUserId();
+        }
+
+        return LedgerReconciliationReport.builder()
+                .rowsChecked(rowsChecked)
+                .driftedRows(drifted)
+                .missingRows(missing)
+                .orphanedRows(orphaned)
+                .emptyRows(empty)
+                .totalCarbonDrift(carbonDrift)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecobank.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in ledger used until a real chain client is wired in, and in tests.
+ */
+@Component
+@Slf4j
+public class LocalLedgerClient implements LedgerClient {
+
+    private final Map<UUID, String> anchoredBatches = new ConcurrentHashMap<>();
+    private final AtomicLong height = new AtomicLong();
+
+    @Override
+    public String anchor(UUID batchId, String merkleRoot, int leafCount) {
+        return anchoredBatches.computeIfAbsent(batchId, id -> {
+            String reference = "local:" + height.incrementAndGet();
+            log.info("Anchored batch {} of {} transactions under root {} as {}", id, leafCount, merkleRoot, reference);
+            return reference;
+        });
+    }
+
+    public int getAnchorCount() {
+        return anchoredBatches.size();
+    }
+}
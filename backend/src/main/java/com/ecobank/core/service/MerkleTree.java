@@ -0,0 +1,66 @@
+package com.ecobank.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle root over hex-encoded leaf hashes, domain separated as in RFC 6962:
+ * a leaf node is H(0x00 || leaf) and an inner node H(0x01 || left || right), so no
+ * leaf can stand in for a subtree. An odd node at any level is carried up unpaired;
+ * duplicating it instead would give [a, b, c] and [a, b, c, c] the same root.
+ */
+public final class MerkleTree {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private MerkleTree() {
+    }
+
+    public static String root(List<String> leafHashes) {
+        if (leafHashes.isEmpty()) {
+            throw new IllegalArgumentException("A Merkle tree needs at least one leaf");
+        }
+
+        MessageDigest digest = sha256();
+        List<byte[]> level = new ArrayList<>(leafHashes.size());
+        for (String leaf : leafHashes) {
+            digest.update(LEAF_PREFIX);
+            digest.update(HEX.parseHex(leaf));
+            level.add(digest.digest());
+        }
+
+        while (level.size() > 1) {
+            List<byte[]> next = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                if (i + 1 == level.size()) {
+                    next.add(level.get(i));
+                    continue;
+                }
+                digest.update(NODE_PREFIX);
+                digest.update(level.get(i));
+                digest.update(level.get(i + 1));
+                next.add(digest.digest());
+            }
+            level = next;
+        }
+        return HEX.formatHex(level.get(0));
+    }
+
+    public static String hash(String value) {
+        return HEX.formatHex(sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.CarbonUpdate;
+import com.ecobank.core.entity.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fan-out for the GraphQL subscriptions. Each user with at least one
+ * subscriber gets a multicast sink per topic; every subscriber reads through its
+ * own bounded buffer that drops the oldest event when the client falls behind.
+ */
+@Component
+public class TransactionEventBus {
+
+    private final Topic<Transaction> transactionsCreated;
+    private final Topic<CarbonUpdate> carbonUpdates;
+
+    public TransactionEventBus(MeterRegistry meterRegistry,
+                               @Value("${app.subscriptions.buffer-size:256}") int bufferSize) {
+        this.transactionsCreated = new Topic<>("transactionCreated", bufferSize, meterRegistry);
+        this.carbonUpdates = new Topic<>("carbonFootprintUpdated", bufferSize, meterRegistry);
+    }
+
+    public Flux<Transaction> subscribeTransactionsCreated(UUID userId) {
+        return transactionsCreated.subscribe(userId);
+    }
+
+    public Flux<CarbonUpdate> subscribeCarbonUpdates(UUID userId) {
+        return carbonUpdates.subscribe(userId);
+    }
+
+    /**
+     * Lets publishers skip building a carbon update nobody is listening for.
+     */
+    public boolean hasCarbonSubscribers(UUID userId) {
+        return carbonUpdates.hasSubscribers(userId);
+    }
+
+    /**
+     * Publishes once the surrounding transaction commits, so subscribers never see
+     * rows that were rolled back, or immediately when called outside a transaction.
+     */
+    public void publishAfterCommit(UUID userId, List<Transaction> created, CarbonUpdate update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId, created, update);
+                }
+            });
+        } else {
+            publish(userId, created, update);
+        }
+    }
+
+    public void publish(UUID userId, List<Transaction> created, CarbonUpdate update) {
+        for (Transaction transaction : created) {
+            transactionsCreated.publish(userId, transaction);
+        }
+        if (update != null) {
+            carbonUpdates.publish(userId, update);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return transactionsCreated.subscribers.get() + carbonUpdates.subscribers.get();
+    }
+
+    public double getDroppedCount() {
+        return transactionsCreated.dropped.count() + carbonUpdates.dropped.count();
+    }
+
+    private static final class Topic<T> {
+
+        private final String name;
+        private final int bufferSize;
+        private final MeterRegistry meterRegistry;
+        private final Map<UUID, Channel<T>> channels = new ConcurrentHashMap<>();
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private final Counter published;
+        private final Counter dropped;
+
+        Topic(String name, int bufferSize, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.bufferSize = bufferSize;
+            this.meterRegistry = meterRegistry;
+            this.published = Counter.builder("graphql.subscription.events.published")
+                    .tag("topic", name)
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("graphql.subscription.events.dropped")
+                    .tag("topic", name)
+                    .register(meterRegistry);
+            Gauge.builder("graphql.subscription.subscribers", subscribers, AtomicInteger::get)
+                    .tag("topic", name)
+                    .register(meterRegistry);
+        }
+
+        Flux<T> subscribe(UUID userId) {
+            return Flux.defer(() -> {
+                Channel<T> channel = channels.compute(userId, (id, existing) -> {
+                    Channel<T> c = existing != null ? existing : new Channel<>();
+                    c.subscribers++;
+                    return c;
+                });
+                subscribers.incrementAndGet();
+
+                return channel.sink.asFlux()
+                        .onBackpressureBuffer(bufferSize, event -> dropped.increment(),
+                                BufferOverflowStrategy.DROP_OLDEST)
+                        .doFinally(signal -> release(userId, channel));
+            });
+        }
+
+        boolean hasSubscribers(UUID userId) {
+            return channels.containsKey(userId);
+        }
+
+        void publish(UUID userId, T event) {
+            Channel<T> channel = channels.get(userId);
+            if (channel == null) {
+                return;
+            }
+            // Sinks reject concurrent emission, so publishers for the same user take turns.
+            // A lock rather than synchronized: delivery can block on a subscriber's socket,
+            // which must not pin a virtual thread to its carrier.
+            Sinks.EmitResult result;
+            channel.lock.lock();
+            try {
+                result = channel.sink.tryEmitNext(event);
+            } finally {
+                channel.lock.unlock();
+            }
+            if (result.isSuccess()) {
+                published.increment();
+            } else {
+                // e.g. FAIL_ZERO_SUBSCRIBER when the last subscriber left after the lookup above
+                Counter.builder("graphql.subscription.events.failed")
+                        .tag("topic", name)
+                        .tag("result", result.name())
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+
+        private void release(UUID userId, Channel<T> channel) {
+            subscribers.decrementAndGet();
+            channels.computeIfPresent(userId, (id, c) -> {
+                if (c == channel) {
+                    c.subscribers--;
+                }
+                return c.subscribers == 0 ? null : c;
+            });
+        }
+    }
+
+    private static final class Channel<T> {
+        private final Sinks.Many<T> sink = Sinks.many().multicast().directBestEffort();
+        private final ReentrantLock lock = new ReentrantLock();
+        private int subscribers;
+    }
+}
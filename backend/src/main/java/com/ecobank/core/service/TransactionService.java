@@ -1,20 +1,39 @@
 package com.ecobank.core.service;
 
 import com.ecobank.core.dto.CarbonStats;
+import com.ecobank.core.dto.CarbonUpdate;
 import com.ecobank.core.dto.CategoryBreakdown;
+import com.ecobank.core.dto.Dashboard;
+import com.ecobank.core.dto.MonthlySummary;
+import com.ecobank.core.dto.PageInfo;
+import com.ecobank.core.dto.TransactionConnection;
+import com.ecobank.core.dto.TransactionEdge;
 import com.ecobank.core.dto.TransactionInput;
+import com.ecobank.core.dto.TransactionView;
+import com.ecobank.core.entity.MonthlyCarbonLedger;
 import com.ecobank.core.entity.Transaction;
 import com.ecobank.core.entity.User;
 import com.ecobank.core.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -26,9 +45,22 @@ public class TransactionService {
     private final UserService userService;
     private final CarbonCalculatorService carbonCalculatorService;
     private final BlockchainService blockchainService;
+    private final CarbonLedgerService carbonLedgerService;
+    private final TransactionEventBus transactionEventBus;
+    private final UserStatsCache userStatsCache;
+    
+    private static final int DEFAULT_HISTORY_MONTHS = 12;
+    private static final int MAX_HISTORY_MONTHS = 120;
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Legacy list fields return at most this many of the newest transactions
+    private static final int MAX_LIST_SIZE = 500;
+    // User.transactions is multiplied by every user in the selection, so it keeps fewer
+    public static final int MAX_TRANSACTIONS_PER_USER = 50;
     
     public Transaction createTransaction(TransactionInput input) {
-        User user = userService.getCurrentUser();
+        User user = userService.getCurrentUserReference();
         
         // Calculate carbon footprint
         BigDecimal carbonFootprint = carbonCalculatorService.calculateCarbonFootprint(
@@ -45,68 +77,191 @@ public class TransactionService {
             .merchant(input.getMerchant())
             .description(input.getDescription())
             .carbonFootprint(carbonFootprint)
-            .transactionDate(OffsetDateTime.now())
+            .transactionDate(OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS))
             .build();
         
         // Save to database
         Transaction savedTransaction = transactionRepository.save(transaction);
+        carbonLedgerService.recordTransaction(savedTransaction);
         
         // Record on blockchain (async)
         blockchainService.recordTransactionAsync(savedTransaction);
         
         // Update user eco score
         userService.updateUserEcoScore(user.getId());
+        publishChanges(user.getId(), List.of(savedTransaction));
         
         return savedTransaction;
     }
     
+    public List<Transaction> createTransactions(List<TransactionInput> inputs) {
+        if (inputs.isEmpty()) {
+            return List.of();
+        }
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("A batch may contain at most " + MAX_BATCH_SIZE + " transactions");
+        }
+        
+        // Resolve the user and the factor snapshot once for the whole batch
+        User user = userService.getCurrentUserReference();
+        Map<String, BigDecimal> factors = carbonCalculatorService.getEmissionFactorSnapshot();
+        // Microseconds, as the column stores them, so the returned rows match a reload
+        OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        
+        List<Transaction> transactions = new ArrayList<>(inputs.size());
+        for (TransactionInput input : inputs) {
+            BigDecimal carbonFootprint = carbonCalculatorService.calculateCarbonFootprint(
+                input.getAmount(),
+                input.getCategory(),
+                factors
+            );
+            
+            transactions.add(Transaction.builder()
+                .user(user)
+                .amount(input.getAmount())
+                .currency(input.getCurrency() != null ? input.getCurrency() : "USD")
+                .category(input.getCategory())
+                .merchant(input.getMerchant())
+                .description(input.getDescription())
+                .carbonFootprint(carbonFootprint)
+                .transactionDate(now)
+                .build());
+        }
+        
+        // JDBC-batched inserts, then one ledger delta per month and one eco score update
+        transactionRepository.insertInBatches(transactions);
+        carbonLedgerService.recordTransactions(transactions);
+        blockchainService.recordTransactionsAsync(transactions);
+        userService.updateUserEcoScore(user.getId());
+        publishChanges(user.getId(), transactions);
+        
+        return transactions;
+    }
+    
+    @Transactional(readOnly = true)
     public Transaction getTransactionById(UUID id) {
         return transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
     }
     
-    public List<Transaction> getUserTransactions(UUID userId) {
-        return transactionRepository.findByUserId(userId);
+    /**
+     * The user's newest transactions as projections holding only the requested Transaction fields.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionView> getUserTransactions(UUID userId, Collection<String> fields) {
+        return transactionRepository.findViewsByUserId(userId, null, fields, MAX_LIST_SIZE);
     }
     
-    public List<Transaction> getCurrentUserTransactions() {
-        User user = userService.getCurrentUser();
-        return transactionRepository.findByUserId(user.getId());
+    /**
+     * Loads the newest MAX_TRANSACTIONS_PER_USER transactions of many users with a single
+     * IN query, grouped by user id.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, List<Transaction>> getTransactionsByUserIds(Collection<UUID> userIds) {
+        Map<UUID, List<Transaction>> byUser = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return byUser;
+        }
+        for (Transaction transaction : transactionRepository.findNewestByUserIdIn(userIds, MAX_TRANSACTIONS_PER_USER)) {
+            byUser.computeIfAbsent(transaction.getUser().getId(), id -> new ArrayList<>()).add(transaction);
+        }
+        return byUser;
     }
     
-    public List<Transaction> getTransactionsByCategory(String category) {
-        User user = userService.getCurrentUser();
-        return transactionRepository.findByUserIdAndCategory(user.getId(), category);
+    @Transactional(readOnly = true)
+    public List<TransactionView> getCurrentUserTransactions(Collection<String> fields) {
+        return transactionRepository.findViewsByUserId(userService.getCurrentUserId(), null, fields, MAX_LIST_SIZE);
     }
     
-    public BigDecimal getMonthlyCarbon(UUID userId) {
-        OffsetDateTime startDate = OffsetDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-        OffsetDateTime endDate = startDate.plusMonths(1);
+    @Transactional(readOnly = true)
+    public List<TransactionView> getTransactionsByCategory(String category, Collection<String> fields) {
+        return transactionRepository.findViewsByUserId(
+                userService.getCurrentUserId(), category, fields, MAX_LIST_SIZE);
+    }
+    
+    @Transactional(readOnly = true)
+    public TransactionConnection getUserTransactionsConnection(UUID userId, Integer first, String after) {
+        return getTransactionPage(userId, null, first, after);
+    }
+    
+    @Transactional(readOnly = true)
+    public TransactionConnection getCurrentUserTransactionsConnection(Integer first, String after) {
+        return getTransactionPage(userService.getCurrentUserId(), null, first, after);
+    }
+    
+    @Transactional(readOnly = true)
+    public TransactionConnection getTransactionsByCategoryConnection(String category, Integer first, String after) {
+        return getTransactionPage(userService.getCurrentUserId(), category, first, after);
+    }
+    
+    private TransactionConnection getTransactionPage(UUID userId, String category, Integer first, String after) {
+        int pageSize = first != null ? first : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new RuntimeException("First must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        // Fetch one extra row to learn whether another page exists
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<Transaction> rows;
+        if (after == null) {
+            rows = category == null
+                    ? transactionRepository.findPageByUserId(userId, limit)
+                    : transactionRepository.findPageByUserIdAndCategory(userId, category, limit);
+        } else {
+            TransactionCursor cursor = TransactionCursor.decode(after);
+            rows = category == null
+                    ? transactionRepository.findPageByUserIdAfter(userId, cursor.transactionDate(), cursor.id(), limit)
+                    : transactionRepository.findPageByUserIdAndCategoryAfter(
+                            userId, category, cursor.transactionDate(), cursor.id(), limit);
+        }
+        
+        boolean hasNextPage = rows.size() > pageSize;
+        List<Transaction> page = hasNextPage ? rows.subList(0, pageSize) : rows;
         
-        return transactionRepository.getMonthlyCarbonByUserId(userId, startDate, endDate);
+        List<TransactionEdge> edges = page.stream()
+                .map(t -> TransactionEdge.builder()
+                        .cursor(TransactionCursor.encode(t))
+                        .node(t)
+                        .build())
+                .toList();
+        
+        return TransactionConnection.builder()
+                .edges(edges)
+                .pageInfo(PageInfo.builder()
+                        .hasNextPage(hasNextPage)
+                        .endCursor(edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor())
+                        .build())
+                .build();
+    }
+    
+    @Transactional(readOnly = true)
+    public BigDecimal getMonthlyCarbon(UUID userId) {
+        return carbonLedgerService.getMonthlyCarbon(userId, YearMonth.now());
     }
     
+    @Transactional(readOnly = true)
     public List<Object[]> getCategoryBreakdown(UUID userId) {
         return transactionRepository.getCategoryBreakdown(userId);
     }
     
+    /**
+     * Read-write on purpose, so it runs on the primary: UserStatsCache keeps the result
+     * until the user's next write, and a lagging replica would pin pre-write stats there.
+     */
+    @Transactional
     public CarbonStats getCarbonStats(UUID userId) {
         User user = userService.getUserById(userId);
         
-        // Get monthly carbon
+        // Monthly and total carbon from the ledger with the same fallback as getDashboard
         BigDecimal monthlyCarbon = getMonthlyCarbon(userId);
-        if (monthlyCarbon == null) {
-            monthlyCarbon = BigDecimal.ZERO;
-        }
-        
-        // Get total carbon
-        BigDecimal totalCarbon = transactionRepository.getTotalCarbonByUserId(userId);
-        if (totalCarbon == null) {
-            totalCarbon = BigDecimal.ZERO;
-        }
+        BigDecimal totalCarbon = carbonLedgerService.getTotalCarbon(userId);
         
+        return toCarbonStats(userId, totalCarbon, monthlyCarbon, user.getMonthlyCarbonBudget(), user.getEcoScore());
+    }
+    
+    private CarbonStats toCarbonStats(UUID userId, BigDecimal totalCarbon, BigDecimal monthlyCarbon,
+                                      BigDecimal carbonBudget, Integer ecoScore) {
         // Calculate percentage
-        BigDecimal carbonBudget = user.getMonthlyCarbonBudget();
         Float carbonPercentage = 0f;
         if (carbonBudget.compareTo(BigDecimal.ZERO) > 0) {
             carbonPercentage = monthlyCarbon.divide(carbonBudget, 4, RoundingMode.HALF_UP)
@@ -119,56 +274,228 @@ public class TransactionService {
                 .monthlyCarbon(monthlyCarbon)
                 .carbonBudget(carbonBudget)
                 .carbonPercentage(carbonPercentage)
-                .ecoScore(user.getEcoScore())
+                .ecoScore(ecoScore)
                 .build();
     }
     
-    public List<CategoryBreakdown> getCategoryBreakdownList(UUID userId) {
-        List<Object[]> rawData = transactionRepository.getCategoryBreakdown(userId);
-        List<CategoryBreakdown> result = new ArrayList<>();
+    @Transactional(readOnly = true)
+    public Dashboard getDashboard(UUID userId) {
+        return getDashboard(userId, DEFAULT_HISTORY_MONTHS);
+    }
+    
+    /**
+     * Carbon stats, category breakdown and monthly history from a single SQL statement.
+     */
+    @Transactional(readOnly = true)
+    public Dashboard getDashboard(UUID userId, int months) {
+        if (months < 1 || months > MAX_HISTORY_MONTHS) {
+            throw new RuntimeException("Months must be between 1 and " + MAX_HISTORY_MONTHS);
+        }
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(months - 1);
         
+        List<Object[]> rows = transactionRepository.getDashboardRows(
+                userId, CarbonLedgerService.monthIndex(firstMonth), CarbonLedgerService.monthIndex(currentMonth));
+        
+        Object[] userRow = null;
         BigDecimal totalCarbon = BigDecimal.ZERO;
-        for (Object[] row : rawData) {
-            BigDecimal carbon = (BigDecimal) row[1];
-            if (carbon != null) {
-                totalCarbon = totalCarbon.add(carbon);
+        Map<YearMonth, BigDecimal> carbonByMonth = new HashMap<>();
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (Object[] row : rows) {
+            switch ((String) row[0]) {
+                case "USER" -> userRow = row;
+                case "TOTAL" -> totalCarbon = (BigDecimal) row[2];
+                case "MONTH" -> {
+                    int period = Integer.parseInt((String) row[1]);
+                    carbonByMonth.put(YearMonth.of(period / 100, period % 100), (BigDecimal) row[2]);
+                }
+                case "CATEGORY" -> categoryRows.add(new Object[]{row[1], row[2], row[3], row[4]});
+                default -> throw new IllegalStateException("Unexpected dashboard row " + row[0]);
             }
         }
+        if (userRow == null) {
+            throw new RuntimeException("User not found");
+        }
         
-        for (Object[] row : rawData) {
+        List<Double> history = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            history.add(carbonByMonth.getOrDefault(firstMonth.plusMonths(i), BigDecimal.ZERO).doubleValue());
+        }
+        
+        BigDecimal monthlyCarbon = carbonByMonth.getOrDefault(currentMonth, BigDecimal.ZERO);
+        Integer ecoScore = userRow[4] != null ? ((Number) userRow[4]).intValue() : null;
+        
+        return Dashboard.builder()
+                .stats(toCarbonStats(userId, totalCarbon, monthlyCarbon, (BigDecimal) userRow[2], ecoScore))
+                .categoryBreakdown(toCategoryBreakdowns(categoryRows))
+                .monthlyHistoricalCarbon(history)
+                .build();
+    }
+    
+    /**
+     * Queues subscription events for after commit. The carbon update is only built,
+     * at the cost of a stats read, when someone is subscribed to it.
+     */
+    private void publishChanges(UUID userId, List<Transaction> created) {
+        CarbonUpdate update = null;
+        if (transactionEventBus.hasCarbonSubscribers(userId)) {
+            CarbonStats stats = getCarbonStats(userId);
+            update = CarbonUpdate.builder()
+                    .userId(userId)
+                    .totalCarbon(stats.getTotalCarbon())
+                    .monthlyCarbon(stats.getMonthlyCarbon())
+                    .ecoScore(stats.getEcoScore())
+                    .timestamp(OffsetDateTime.now())
+                    .build();
+        }
+        transactionEventBus.publishAfterCommit(userId, created, update);
+        userStatsCache.invalidateAfterCommit(userId);
+    }
+    
+    /**
+     * Served from the monthly ledger. A month without a ledger row (nothing recorded,
+     * or history the backfill has not reached) falls back to an index range aggregate.
+     */
+    @Transactional(readOnly = true)
+    public MonthlySummary getMonthlySummary(UUID userId, int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new RuntimeException("Month must be between 1 and 12");
+        }
+        YearMonth period = YearMonth.of(year, month);
+        
+        BigDecimal totalCarbon;
+        BigDecimal totalAmount;
+        int transactionCount;
+        Optional<MonthlyCarbonLedger> ledger = carbonLedgerService.getMonth(userId, period);
+        if (ledger.isPresent()) {
+            totalCarbon = ledger.get().getTotalCarbon();
+            totalAmount = ledger.get().getTotalAmount();
+            transactionCount = ledger.get().getTransactionCount();
+        } else {
+            OffsetDateTime startDate = period.atDay(1).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+            OffsetDateTime endDate = period.plusMonths(1).atDay(1).atStartOfDay(ZoneId.systemDefault())
+                    .toOffsetDateTime();
+            Object[] totals = transactionRepository.getTotalsByUserIdBetween(userId, startDate, endDate).get(0);
+            totalCarbon = (BigDecimal) totals[0];
+            totalAmount = (BigDecimal) totals[1];
+            transactionCount = ((Number) totals[2]).intValue();
+        }
+        
+        BigDecimal averageCarbon = BigDecimal.ZERO;
+        if (transactionCount > 0) {
+            averageCarbon = totalCarbon.divide(BigDecimal.valueOf(transactionCount), 2, RoundingMode.HALF_UP);
+        }
+        
+        return MonthlySummary.builder()
+                .userId(userId)
+                .year(year)
+                .month(month)
+                .totalCarbon(totalCarbon)
+                .totalAmount(totalAmount)
+                .transactionCount(transactionCount)
+                .averageCarbonPerTransaction(averageCarbon)
+                .build();
+    }
+    
+    // On the primary for the same reason as getCarbonStats
+    @Transactional
+    public List<CategoryBreakdown> getCategoryBreakdownList(UUID userId) {
+        return toCategoryBreakdowns(transactionRepository.getCategoryBreakdown(userId));
+    }
+    
+    /**
+     * Converts (category, carbon, amount, count) rows, adding each category's share of the total.
+     */
+    private List<CategoryBreakdown> toCategoryBreakdowns(List<Object[]> rawData) {
+        List<CategoryBreakdown> result = new ArrayList<>();
+        float[] percentages = carbonPercentages(rawData);
+        
+        for (int i = 0; i < rawData.size(); i++) {
+            Object[] row = rawData.get(i);
             String category = (String) row[0];
             BigDecimal carbon = (BigDecimal) row[1];
             BigDecimal amount = (BigDecimal) row[2];
             Long count = (Long) row[3];
             
-            Float percentage = 0f;
-            if (totalCarbon.compareTo(BigDecimal.ZERO) > 0 && carbon != null) {
-                percentage = carbon.divide(totalCarbon, 4, RoundingMode.HALF_UP)
-                        .multiply(new BigDecimal("100"))
-                        .floatValue();
-            }
-            
             result.add(CategoryBreakdown.builder()
                     .category(category)
                     .totalCarbon(carbon != null ? carbon : BigDecimal.ZERO)
                     .totalAmount(amount != null ? amount : BigDecimal.ZERO)
                     .transactionCount(count != null ? count.intValue() : 0)
-                    .percentage(percentage)
+                    .percentage(percentages[i])
                     .build());
         }
         
         return result;
     }
     
+    /**
+     * Each row's share of the summed carbon, as carbon / total rounded HALF_UP to 4 places, times 100.
+     * Carbon totals are sums of a 2-decimal column, so this runs on long cents; any other
+     * value takes the BigDecimal path.
+     */
+    private static float[] carbonPercentages(List<Object[]> rawData) {
+        float[] percentages = new float[rawData.size()];
+        long[] carbonCents = new long[rawData.size()];
+        long totalCents = 0;
+        try {
+            for (int i = 0; i < rawData.size(); i++) {
+                BigDecimal carbon = (BigDecimal) rawData.get(i)[1];
+                carbonCents[i] = carbon != null ? FixedPoint.toFixed(carbon, FixedPoint.CENTS_SCALE) : 0;
+                if (carbonCents[i] == FixedPoint.NOT_REPRESENTABLE) {
+                    return carbonPercentagesExact(rawData);
+                }
+                totalCents = Math.addExact(totalCents, carbonCents[i]);
+            }
+        } catch (ArithmeticException e) {
+            return carbonPercentagesExact(rawData);
+        }
+        
+        if (totalCents > 0) {
+            for (int i = 0; i < rawData.size(); i++) {
+                if (rawData.get(i)[1] != null) {
+                    percentages[i] = FixedPoint.percentage(carbonCents[i], totalCents);
+                }
+            }
+        }
+        return percentages;
+    }
+    
+    private static float[] carbonPercentagesExact(List<Object[]> rawData) {
+        float[] percentages = new float[rawData.size()];
+        BigDecimal totalCarbon = BigDecimal.ZERO;
+        for (Object[] row : rawData) {
+            BigDecimal carbon = (BigDecimal) row[1];
+            if (carbon != null) {
+                totalCarbon = totalCarbon.add(carbon);
+            }
+        }
+        
+        if (totalCarbon.compareTo(BigDecimal.ZERO) > 0) {
+            for (int i = 0; i < rawData.size(); i++) {
+                BigDecimal carbon = (BigDecimal) rawData.get(i)[1];
+                if (carbon != null) {
+                    percentages[i] = carbon.divide(totalCarbon, 4, RoundingMode.HALF_UP)
+                            .multiply(new BigDecimal("100"))
+                            .floatValue();
+                }
+            }
+        }
+        return percentages;
+    }
+    
     public Transaction updateTransaction(UUID id, TransactionInput input) {
         Transaction transaction = getTransactionById(id);
         
         // Check if user owns this transaction
-        User currentUser = userService.getCurrentUser();
-        if (!transaction.getUser().getId().equals(currentUser.getId())) {
+        UUID currentUserId = userService.getCurrentUserId();
+        if (!transaction.getUser().getId().equals(currentUserId)) {
             throw new RuntimeException("Unauthorized");
         }
         
+        BigDecimal previousCarbon = transaction.getCarbonFootprint();
+        BigDecimal previousAmount = transaction.getAmount();
+        
         // Update fields
         if (input.getAmount() != null) {
             transaction.setAmount(input.getAmount());
@@ -192,39 +519,76 @@ public class TransactionService {
             transaction.setCarbonFootprint(carbonFootprint);
         }
         
-        return transactionRepository.save(transaction);
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        carbonLedgerService.adjustTransaction(savedTransaction, previousCarbon, previousAmount);
+        userService.updateUserEcoScore(currentUserId);
+        publishChanges(currentUserId, List.of());
+        
+        return savedTransaction;
     }
     
     public boolean deleteTransaction(UUID id) {
         Transaction transaction = getTransactionById(id);
         
         // Check if user owns this transaction
-        User currentUser = userService.getCurrentUser();
-        if (!transaction.getUser().getId().equals(currentUser.getId())) {
+        UUID currentUserId = userService.getCurrentUserId();
+        if (!transaction.getUser().getId().equals(currentUserId)) {
             throw new RuntimeException("Unauthorized");
         }
         
         transactionRepository.delete(transaction);
-        userService.updateUserEcoScore(currentUser.getId());
+        carbonLedgerService.removeTransaction(transaction);
+        userService.updateUserEcoScore(currentUserId);
+        publishChanges(currentUserId, List.of());
         
         return true;
     }
     
+    @Transactional(readOnly = true)
     public List<BigDecimal> getMonthlyHistoricalCarbon(UUID userId) {
-        List<BigDecimal> monthlyData = new ArrayList<>();
-        OffsetDateTime now = OffsetDateTime.now();
-        
-        // Get last 12 months of data
-        for (int i = 11; i >= 0; i--) {
-            OffsetDateTime monthStart = now.minusMonths(i).withDayOfMonth(1)
-                    .withHour(0).withMinute(0).withSecond(0).withNano(0);
-            OffsetDateTime monthEnd = monthStart.plusMonths(1);
-            
-            BigDecimal monthlyCarbon = transactionRepository.getMonthlyCarbonByUserId(
-                    userId, monthStart, monthEnd);
-            monthlyData.add(monthlyCarbon);
+        return getMonthlyHistoricalCarbon(userId, DEFAULT_HISTORY_MONTHS);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<BigDecimal> getMonthlyHistoricalCarbon(UUID userId, int months) {
+        if (months < 1 || months > MAX_HISTORY_MONTHS) {
+            throw new RuntimeException("Months must be between 1 and " + MAX_HISTORY_MONTHS);
+        }
+        
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(months - 1);
+        
+        // One query for the whole window, read like getDashboard's; empty months are zero-filled below
+        Map<YearMonth, BigDecimal> carbonByMonth = carbonLedgerService.getCarbonByMonth(userId, firstMonth, currentMonth);
+        
+        List<BigDecimal> monthlyData = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            monthlyData.add(carbonByMonth.getOrDefault(firstMonth.plusMonths(i), BigDecimal.ZERO));
         }
         
         return monthlyData;
     }
+    
+    /**
+     * Opaque keyset cursor over (transaction_date, id).
+     */
+    private record TransactionCursor(OffsetDateTime transactionDate, UUID id) {
+        
+        static String encode(Transaction transaction) {
+            String raw = transaction.getTransactionDate() + "|" + transaction.getId();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static TransactionCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new TransactionCursor(
+                        OffsetDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.ecobank.core.service;
 
+import com.ecobank.core.dto.RegisterRequest;
 import com.ecobank.core.dto.UserProfile;
 import com.ecobank.core.entity.User;
-import com.ecobank.core.repository.TransactionRepository;
 import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.AuthenticatedUser;
+import com.ecobank.core.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,8 +14,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -22,24 +27,60 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
+    private final CarbonLedgerService carbonLedgerService;
+    private final PrincipalCache principalCache;
+    private final UserStatsCache userStatsCache;
     
+    @Transactional(readOnly = true)
     public User getCurrentUser() {
-        String email = getCurrentUserEmail();
+        return getUserById(getCurrentUserId());
+    }
+    
+    /**
+     * Resolves the current user's id from the cached principal without touching the users table.
+     */
+    @Transactional(readOnly = true)
+    public UUID getCurrentUserId() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getId();
+        }
+        
+        String email = principal instanceof UserDetails userDetails ? userDetails.getUsername() : principal.toString();
         return userRepository.findByEmail(email)
+                .map(User::getId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
     
+    /**
+     * Returns an uninitialized reference to the current user, for use as a foreign key.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+    
+    @Transactional(readOnly = true)
     public UserProfile getCurrentUserProfile() {
         User user = getCurrentUser();
         return mapToUserProfile(user);
     }
     
+    @Transactional(readOnly = true)
     public User getUserById(UUID id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
     
+    @Transactional(readOnly = true)
+    public Map<UUID, User> getUsersByIds(Collection<UUID> ids) {
+        Map<UUID, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(ids)) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+    
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -51,28 +92,44 @@ public class UserService {
         if (lastName != null) user.setLastName(lastName);
         if (phoneNumber != null) user.setPhoneNumber(phoneNumber);
         
+        principalCache.invalidateAfterCommit(user.getEmail());
         return userRepository.save(user);
     }
     
     public User updateCarbonBudget(BigDecimal budget) {
         User user = getCurrentUser();
         user.setMonthlyCarbonBudget(budget);
+        userStatsCache.invalidateAfterCommit(user.getId());
+        return userRepository.save(user);
+    }
+    
+    public User createUser(RegisterRequest request, String passwordHash) {
+        User user = new User();
+        user.setEmail(request.getEmail());
+        user.setPasswordHash(passwordHash);
+        user.setFirstName(request.getFirstName());
+        user.setLastName(request.getLastName());
+        user.setPhoneNumber(request.getPhoneNumber());
         return userRepository.save(user);
     }
     
+    /**
+     * Stores a new hash for a user loaded earlier, possibly in another transaction,
+     * with a single UPDATE instead of reloading the row to merge it. The cached
+     * principal is evicted once the new hash is committed.
+     */
+    public void updatePasswordHash(User user, String passwordHash) {
+        user.setPasswordHash(passwordHash);
+        userRepository.updatePasswordHash(user.getId(), passwordHash);
+        principalCache.invalidateAfterCommit(user.getEmail());
+    }
+    
     public void updateUserEcoScore(UUID userId) {
         User user = getUserById(userId);
 
-        // Calculate monthly carbon directly using repository
-        OffsetDateTime startDate = OffsetDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-        OffsetDateTime endDate = startDate.plusMonths(1);
-        BigDecimal monthlyCarbon = transactionRepository.getMonthlyCarbonByUserId(userId, startDate, endDate);
-        
-        // Calculate total carbon from all transactions
-        BigDecimal totalCarbon = transactionRepository.getTotalCarbonByUserId(userId);
-        if (totalCarbon == null) {
-            totalCarbon = BigDecimal.ZERO;
-        }
+        // Read running totals from the ledger instead of re-aggregating transactions
+        BigDecimal monthlyCarbon = carbonLedgerService.getMonthlyCarbon(userId, YearMonth.now());
+        BigDecimal totalCarbon = carbonLedgerService.getTotalCarbon(userId);
 
         BigDecimal budget = user.getMonthlyCarbonBudget();
 
@@ -112,16 +169,4 @@ public class UserService {
                 .updatedAt(user.getUpdatedAt())
                 .build();
     }
-    
-    private String getCurrentUserEmail() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        System.out.println("DEBUG AUTH: Principal class: " + principal.getClass().getName());
-        System.out.println("DEBUG AUTH: Principal value: " + principal);
-        
-        if (principal instanceof UserDetails) {
-            return ((UserDetails) principal).getUsername();
-        } else {
-            return principal.toString();
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.CarbonStats;
+import com.ecobank.core.dto.CategoryBreakdown;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Carbon stats and category breakdowns per user, keyed by the user's data version.
+ * Every committed change to a user's transactions, budget or eco score moves them to a
+ * new version, so reads never see data older than the last commit and nothing expires
+ * on a timer; entries for old versions are simply never read again and age out of the
+ * size bound. Versions come from one sequence, so a user whose version was evicted gets
+ * a number no cached entry can carry. Keys include the current month, which monthly
+ * carbon depends on.
+ */
+@Component
+public class UserStatsCache {
+
+    record Key(UUID userId, long version, YearMonth month) {
+    }
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Cache<UUID, Long> versions;
+    private final Cache<Key, CarbonStats> carbonStats;
+    private final Cache<Key, List<CategoryBreakdown>> categoryBreakdowns;
+
+    public UserStatsCache(MeterRegistry meterRegistry,
+                          @Value("${app.stats-cache.max-size:10000}") long maxSize) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.carbonStats = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.categoryBreakdowns = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, carbonStats, "carbon-stats");
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryBreakdowns, "category-breakdown");
+    }
+
+    /**
+     * Cached stats for the user's current version, or the loader's result. The loader
+     * must read from the primary: a replica that has not caught up with the write that
+     * moved the version would have its stale result served until the next write. It
+     * must also not run inside a transaction that has changed the user's data.
+     */
+    public CarbonStats getCarbonStats(UUID userId, Supplier<CarbonStats> loader) {
+        return get(carbonStats, key(userId), loader);
+    }
+
+    public List<CategoryBreakdown> getCategoryBreakdown(UUID userId, Supplier<List<CategoryBreakdown>> loader) {
+        return get(categoryBreakdowns, key(userId), () -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Moves the user to a new version once the surrounding transaction commits, or
+     * immediately when called outside a transaction. Bumping before the commit would let
+     * a concurrent read cache pre-commit data under the new version.
+     */
+    public void invalidateAfterCommit(UUID userId) {
+        afterCommit(() -> versions.put(userId, versionSequence.incrementAndGet()));
+    }
+
+    /**
+     * Moves every user to a new version, for changes that touch many users at once.
+     */
+    public void invalidateAllAfterCommit() {
+        afterCommit(versions::invalidateAll);
+    }
+
+    public double getHitRate() {
+        return carbonStats.stats().plus(categoryBreakdowns.stats()).hitRate();
+    }
+
+    private Key key(UUID userId) {
+        return new Key(userId, versions.get(userId, id -> versionSequence.incrementAndGet()), YearMonth.now());
+    }
+
+    private static <T> T get(Cache<Key, T> cache, Key key, Supplier<T> loader) {
+        T cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Load outside Cache.get, so the database round trip does not hold a map lock
+        T loaded = loader.get();
+        cache.put(key, loaded);
+        return loaded;
+    }
+
+    private static void afterCommit(Runnable invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecobank.core;
+
+import com.ecobank.core.dto.CarbonUpdate;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.PrincipalCache;
+import com.ecobank.core.service.TransactionEventBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.Disposable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guards the code paths that block while running on virtual threads against
+ * carrier pinning, using the JFR jdk.VirtualThreadPinned event.
+ */
+class VirtualThreadPinningTest {
+
+    private static final Duration BLOCKING_CALL = Duration.ofMillis(30);
+
+    @TempDir
+    Path tempDir;
+
+    private Recording recording;
+
+    @BeforeEach
+    void startRecording() {
+        recording = new Recording();
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(10));
+        recording.start();
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    void testPrincipalCacheMiss_DoesNotPinWhileLoading() throws Exception {
+        // Arrange
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(BLOCKING_CALL);
+            return Optional.of(User.builder().id(UUID.randomUUID()).email(invocation.getArgument(0)).build());
+        });
+        PrincipalCache principalCache = new PrincipalCache(
+                userRepository, new SimpleMeterRegistry(), Duration.ofMinutes(5), 1000);
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                String email = "user" + (i % 20) + "@example.com";
+                executor.submit(() -> principalCache.get(email));
+            }
+        }
+
+        // Assert
+        assertEquals(List.of(), pinnedEvents());
+    }
+
+    @Test
+    void testEventBusPublish_DoesNotPinOnSlowSubscriber() throws Exception {
+        // Arrange
+        TransactionEventBus eventBus = new TransactionEventBus(new SimpleMeterRegistry(), 16);
+        UUID userId = UUID.randomUUID();
+        Disposable subscription = eventBus.subscribeCarbonUpdates(userId).subscribe(update -> {
+            try {
+                Thread.sleep(BLOCKING_CALL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 5; i++) {
+                executor.submit(() -> eventBus.publish(userId, List.of(),
+                        CarbonUpdate.builder().userId(userId).build()));
+            }
+        }
+        subscription.dispose();
+
+        // Assert
+        assertEquals(List.of(), pinnedEvents());
+    }
+
+    private List<String> pinnedEvents() throws Exception {
+        recording.stop();
+        Path file = tempDir.resolve("pinning.jfr");
+        recording.dump(file);
+
+        // Report each pinned event by its stack so a failure points at the offending frame
+        List<String> pinned = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            pinned.add(event.getStackTrace() == null ? event.getEventType().getName()
+                    : event.getStackTrace().getFrames().stream()
+                            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                            .toList()
+                            .toString());
+        }
+        return pinned;
+    }
+}
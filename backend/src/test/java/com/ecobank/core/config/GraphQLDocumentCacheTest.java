@@ -0,0 +1,99 @@
+package com.ecobank.core.config;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQLDocumentCacheTest {
+
+    private static final String QUERY = "query Me { me { id email } }";
+
+    private GraphQLDocumentCache documentCache;
+    private AtomicInteger parses;
+    private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate;
+
+    @BeforeEach
+    void setUp() {
+        documentCache = new GraphQLDocumentCache(new SimpleMeterRegistry(), 10);
+        parses = new AtomicInteger();
+        parseAndValidate = input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        };
+    }
+
+    @Test
+    void testRepeatedQueryText_ParsedOnce() {
+        // Act
+        PreparsedDocumentEntry first = document(ExecutionInput.newExecutionInput(QUERY).build());
+        PreparsedDocumentEntry second = document(ExecutionInput.newExecutionInput(QUERY).build());
+
+        // Assert
+        assertEquals(1, parses.get());
+        assertSame(first.getDocument(), second.getDocument());
+    }
+
+    @Test
+    void testHashOnlyRequest_NotFoundUntilRegisteredThenServedFromCache() throws Exception {
+        // Arrange
+        Map<String, Object> extensions = persistedQuery(sha256(QUERY));
+
+        // Act
+        PreparsedDocumentEntry unknown = document(hashOnly(extensions));
+        PreparsedDocumentEntry registered = document(
+                ExecutionInput.newExecutionInput(QUERY).extensions(extensions).build());
+        PreparsedDocumentEntry cached = document(hashOnly(extensions));
+
+        // Assert
+        assertEquals("PersistedQueryNotFound", unknown.getErrors().get(0).getMessage());
+        assertFalse(registered.hasErrors());
+        assertSame(registered.getDocument(), cached.getDocument());
+        assertEquals(1, parses.get());
+    }
+
+    @Test
+    void testMismatchedHash_RejectedAndNotCached() {
+        // Arrange
+        Map<String, Object> extensions = persistedQuery("0".repeat(64));
+
+        // Act
+        PreparsedDocumentEntry mismatched = document(
+                ExecutionInput.newExecutionInput(QUERY).extensions(extensions).build());
+        PreparsedDocumentEntry hashOnly = document(hashOnly(extensions));
+
+        // Assert
+        assertEquals("PersistedQueryIdInvalid", mismatched.getErrors().get(0).getMessage());
+        assertEquals("PersistedQueryNotFound", hashOnly.getErrors().get(0).getMessage());
+        assertEquals(0, parses.get());
+    }
+
+    private PreparsedDocumentEntry document(ExecutionInput input) {
+        return documentCache.getDocumentAsync(input, parseAndValidate).join();
+    }
+
+    // Spring GraphQL substitutes this marker when a request has no query text
+    private static ExecutionInput hashOnly(Map<String, Object> extensions) {
+        return ExecutionInput.newExecutionInput("PersistedQueryMarker").extensions(extensions).build();
+    }
+
+    private static Map<String, Object> persistedQuery(String hash) {
+        return Map.of(GraphQLDocumentCache.PERSISTED_QUERY_EXTENSION, Map.of("version", 1, "sha256Hash", hash));
+    }
+
+    private static String sha256(String query) throws Exception {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+}
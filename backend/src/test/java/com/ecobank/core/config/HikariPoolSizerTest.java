@@ -0,0 +1,39 @@
+package com.ecobank.core.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HikariPoolSizerTest {
+
+    @Test
+    void testPostProcess_DerivesPoolSizeFromCores() {
+        // Arrange
+        HikariPoolSizer sizer = new HikariPoolSizer(new MockEnvironment(), 4);
+        HikariDataSource dataSource = new HikariDataSource();
+
+        // Act
+        sizer.postProcessAfterInitialization(dataSource, "dataSource");
+
+        // Assert
+        assertEquals(9, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void testPostProcess_KeepsExplicitPoolSize() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(HikariPoolSizer.MAXIMUM_POOL_SIZE, "20");
+        HikariPoolSizer sizer = new HikariPoolSizer(environment, 4);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(20);
+
+        // Act
+        sizer.postProcessAfterInitialization(dataSource, "dataSource");
+
+        // Assert
+        assertEquals(20, dataSource.getMaximumPoolSize());
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecobank.core.config;
+
+import com.ecobank.core.config.SlowOperationLog.SlowOperation;
+import com.ecobank.core.resolver.QueryFieldExecutor;
+import graphql.scalars.ExtendedScalars;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OperationMetricsInstrumentationTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowOperationLog slowOperationLog;
+    private QueryFieldExecutor queryFieldExecutor;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        slowOperationLog = new SlowOperationLog(Duration.ZERO, 10);
+        queryFieldExecutor = new QueryFieldExecutor(2);
+
+        // Every query reads one row
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        dataSource = new SqlCapturingDataSource(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryFieldExecutor.destroy();
+    }
+
+    @Test
+    void testOperation_CountsSqlFromCallerAndQueryExecutorThreads() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+
+        // Act
+        ExecutionGraphQlResponse response = execute(
+                "query Profile($id: UUID!) { getUser(id: $id) { id } getCurrentUser { id } }",
+                Map.of("id", id.toString()));
+
+        // Assert
+        assertTrue(response.getErrors().isEmpty(), response.getErrors().toString());
+        assertEquals(1L, meterRegistry.get(OperationMetricsInstrumentation.OPERATION_TIMER)
+                .tag("operation", "Profile").tag("type", "query").tag("outcome", "success").timer().count());
+        assertEquals(2.0, meterRegistry.get(OperationMetricsInstrumentation.STATEMENTS_METRIC)
+                .tag("operation", "Profile").summary().totalAmount());
+        assertEquals(2.0, meterRegistry.get(OperationMetricsInstrumentation.ROWS_METRIC)
+                .tag("operation", "Profile").summary().totalAmount());
+        assertEquals(1L, meterRegistry.get(OperationMetricsInstrumentation.FETCHER_TIMER)
+                .tag("type", "Query").tag("field", "getCurrentUser").timer().count());
+    }
+
+    @Test
+    void testSlowOperation_LoggedWithVariableShapeAndSql() {
+        // Act
+        execute("query Profile($id: UUID!) { getUser(id: $id) { id } }", Map.of("id", UUID.randomUUID().toString()));
+
+        // Assert
+        List<SlowOperation> slow = slowOperationLog.slowOperations();
+        assertEquals(1, slow.size());
+        assertEquals("Profile", slow.get(0).operation());
+        assertEquals(Map.of("id", "String"), slow.get(0).variables());
+        assertEquals(List.of("select id from users where id=?"), slow.get(0).sql());
+    }
+
+    private ExecutionGraphQlResponse execute(String document, Map<String, Object> variables) {
+        GraphQlSource graphQlSource = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ClassPathResource("graphql/schema.graphqls"))
+                .configureRuntimeWiring(wiring -> wiring
+                        .scalar(ExtendedScalars.UUID)
+                        .scalar(ExtendedScalars.GraphQLBigDecimal)
+                        .scalar(ExtendedScalars.DateTime)
+                        .type("Query", builder -> builder
+                                .dataFetcher("getUser", env -> selectUser())
+                                .dataFetcher("getCurrentUser", env -> queryFieldExecutor.supply(this::selectUser))))
+                .instrumentation(List.of(new OperationMetricsInstrumentation(meterRegistry, slowOperationLog, 10)))
+                .build();
+        return new DefaultExecutionGraphQlService(graphQlSource)
+                .execute(new DefaultExecutionGraphQlRequest(document, null, variables, null, "1", null))
+                .block();
+    }
+
+    private Map<String, Object> selectUser() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select id from users where id=?");
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return Map.of("id", UUID.randomUUID());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
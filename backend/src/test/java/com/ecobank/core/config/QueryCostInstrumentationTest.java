@@ -0,0 +1,189 @@
+package com.ecobank.core.config;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.scalars.ExtendedScalars;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.PropertyPlaceholderHelper;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCostInstrumentationTest {
+
+    // The admin user listing the batched User.transactions loader serves
+    private static final String ADMIN_USERS_QUERY = """
+            query AdminUsers {
+              getAllUsers {
+                id email firstName lastName ecoScore
+                transactions { id amount currency category merchant carbonFootprint transactionDate }
+              }
+            }""";
+
+    // As sent by the frontend's TransactionService.getDashboardQuery
+    private static final String DASHBOARD_QUERY = """
+            query GetDashboard($userId: UUID!) {
+              getDashboard(userId: $userId) {
+                stats { userId totalCarbon monthlyCarbon carbonBudget carbonPercentage ecoScore }
+                categoryBreakdown { category totalCarbon totalAmount transactionCount percentage }
+                monthlyHistoricalCarbon
+              }
+            }""";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger userFetches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userFetches = new AtomicInteger();
+    }
+
+    @Test
+    void testFanOutQuery_RejectedBeforeAnyFieldIsFetched() throws Exception {
+        // Arrange
+        GraphQL graphQL = graphQL(new QueryCostInstrumentation(meterRegistry, 10_000, 10, 100));
+
+        // Act
+        ExecutionResult result = graphQL.execute(
+                "query FanOut { getAllUsers { transactions { user { transactions { id } } } } }");
+
+        // Assert
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Query cost"));
+        assertEquals(0, userFetches.get());
+        assertEquals(1.0, meterRegistry.get(QueryCostInstrumentation.REJECTED_METRIC)
+                .tag("operation", "FanOut").tag("reason", "cost").counter().count());
+    }
+
+    @Test
+    void testAllowedQuery_RecordsEstimatedAndActualCost() throws Exception {
+        // Arrange
+        GraphQL graphQL = graphQL(new QueryCostInstrumentation(meterRegistry, 100_000, 10, 100));
+
+        // Act
+        ExecutionResult users = graphQL.execute("query Users { getAllUsers { id transactions { id } } }");
+        ExecutionResult page = graphQL.execute(
+                "query Page { getAllTransactionsConnection(first: 5) { edges { node { id } } } }");
+
+        // Assert: 100 users of 50 transactions estimated; 3 users of 2 transactions resolved
+        assertEquals(List.of(), users.getErrors());
+        assertEquals(List.of(), page.getErrors());
+        assertEquals(100 * (1 + 50), cost("Users", "estimated"));
+        assertEquals(3 + 3 * 2, cost("Users", "actual"));
+        // The connection takes its edge count from first: 1 connection + 5 edges of 1 node each
+        assertEquals(1 + 5 * (1 + 1), cost("Page", "estimated"));
+    }
+
+    @Test
+    void testDepthLimit_IgnoresIntrospection() throws Exception {
+        // Arrange
+        GraphQL graphQL = graphQL(new QueryCostInstrumentation(meterRegistry, 100_000, 3, 100));
+
+        // Act
+        ExecutionResult tooDeep = graphQL.execute("{ getAllUsers { transactions { user { id } } } }");
+        ExecutionResult introspection = graphQL.execute(
+                "{ __schema { types { fields { type { ofType { ofType { name } } } } } } }");
+
+        // Assert
+        assertEquals(1, tooDeep.getErrors().size());
+        assertEquals("Query depth 4 exceeds the limit of 3", tooDeep.getErrors().get(0).getMessage());
+        assertEquals(List.of(), introspection.getErrors());
+    }
+
+    @Test
+    void testShippedQueries_PassTheDefaultLimits() throws Exception {
+        // Arrange: the limits application.properties ships with
+        Properties defaults = applicationDefaults();
+        GraphQL graphQL = graphQL(new QueryCostInstrumentation(meterRegistry,
+                Long.parseLong(defaults.getProperty("app.graphql.max-cost")),
+                Integer.parseInt(defaults.getProperty("app.graphql.max-depth")),
+                Integer.parseInt(defaults.getProperty("app.graphql.default-list-size"))));
+
+        // Act
+        ExecutionResult admin = graphQL.execute(ADMIN_USERS_QUERY);
+        ExecutionResult dashboard = graphQL.execute(ExecutionInput.newExecutionInput(DASHBOARD_QUERY)
+                .variables(Map.of("userId", UUID.randomUUID().toString()))
+                .build());
+
+        // Assert: 100 users of 50 transactions; the dashboard weight, itself, its stats and 14 categories
+        assertEquals(List.of(), admin.getErrors());
+        assertEquals(List.of(), dashboard.getErrors());
+        assertEquals(100 * (1 + 50), cost("AdminUsers", "estimated"));
+        assertEquals(10 + 1 + 1 + 14, cost("GetDashboard", "estimated"));
+    }
+
+    private static Properties applicationDefaults() throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        PropertyPlaceholderHelper placeholders = new PropertyPlaceholderHelper("${", "}", ":", null, true);
+        Properties defaults = new Properties();
+        properties.stringPropertyNames().forEach(name -> defaults.setProperty(name,
+                placeholders.replacePlaceholders(properties.getProperty(name), placeholder -> null)));
+        return defaults;
+    }
+
+    private double cost(String operation, String kind) {
+        return meterRegistry.get(QueryCostInstrumentation.COST_METRIC)
+                .tag("operation", operation).tag("kind", kind).summary().totalAmount();
+    }
+
+    private GraphQL graphQL(QueryCostInstrumentation instrumentation) throws Exception {
+        List<Map<String, Object>> users = List.of(user(), user(), user());
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .scalar(ExtendedScalars.UUID)
+                .scalar(ExtendedScalars.GraphQLBigDecimal)
+                .scalar(ExtendedScalars.DateTime)
+                .type("Query", builder -> builder
+                        .dataFetcher("getAllUsers", env -> {
+                            userFetches.incrementAndGet();
+                            return users;
+                        })
+                        .dataFetcher("getDashboard", env -> Map.of(
+                                "stats", Map.of("userId", UUID.randomUUID(),
+                                        "totalCarbon", BigDecimal.TEN, "monthlyCarbon", BigDecimal.ONE,
+                                        "carbonBudget", BigDecimal.TEN, "carbonPercentage", 0.1, "ecoScore", 80),
+                                "categoryBreakdown", List.of(),
+                                "monthlyHistoricalCarbon", List.of(1.0)))
+                        .dataFetcher("getAllTransactionsConnection", env -> Map.of(
+                                "edges", List.of(Map.of("node", Map.of("id", UUID.randomUUID()))),
+                                "pageInfo", Map.of("hasNextPage", false))))
+                .type("User", builder -> builder
+                        .dataFetcher("transactions", env -> List.of(
+                                transaction(env.getSource()), transaction(env.getSource()))))
+                .build();
+        try (Reader schema = new InputStreamReader(
+                new ClassPathResource("graphql/schema.graphqls").getInputStream(), StandardCharsets.UTF_8)) {
+            return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(
+                            new SchemaParser().parse(schema), wiring))
+                    .instrumentation(instrumentation)
+                    .build();
+        }
+    }
+
+    private static Map<String, Object> user() {
+        return Map.of("id", UUID.randomUUID(), "email", "user@example.com", "ecoScore", 80);
+    }
+
+    private static Map<String, Object> transaction(Object user) {
+        return Map.of("id", UUID.randomUUID(), "user", user, "amount", BigDecimal.TEN, "currency", "USD",
+                "category", "FOOD", "carbonFootprint", BigDecimal.ONE, "transactionDate", OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecobank.core.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaRoutingDataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1));
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesReplica() throws Exception {
+        // Arrange
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        // Act
+        runStatement(true);
+
+        // Assert
+        verify(replicaConnection).createStatement();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void testReadWriteTransaction_UsesPrimary() throws Exception {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act
+        runStatement(false);
+
+        // Assert
+        verify(primaryConnection).createStatement();
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void testReplicaUnavailable_FallsBackToPrimaryUntilRetry() throws Exception {
+        // Arrange
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act
+        runStatement(true);
+        runStatement(true);
+
+        // Assert
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(2)).getConnection();
+        verify(primaryConnection, times(2)).setReadOnly(true);
+        verify(primaryConnection, times(2)).createStatement();
+    }
+
+    private void runStatement(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+}
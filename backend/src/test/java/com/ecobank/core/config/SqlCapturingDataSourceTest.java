@@ -0,0 +1,92 @@
+package com.ecobank.core.config;
+
+import graphql.GraphQLContext;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqlCapturingDataSourceTest {
+
+    private static final String SELECT = "select id, email from users where email=?";
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SqlCapturingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new SqlCapturingDataSource(target);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void testBoundCapture_CountsStatementsAndRows() throws Exception {
+        // Arrange
+        SqlCapture sqlCapture = new SqlCapture(1);
+        Statement statement = mock(Statement.class);
+        when(connection.prepareStatement(SELECT)).thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(statement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        // Act
+        try (ContextSnapshot.Scope scope = bind(sqlCapture)) {
+            Connection captured = dataSource.getConnection();
+            try (PreparedStatement select = captured.prepareStatement(SELECT);
+                 ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    rows.getString("email");
+                }
+            }
+            captured.createStatement().executeUpdate("delete from users");
+        }
+
+        // Assert: both statements counted, only the first kept
+        assertEquals(2, sqlCapture.getStatements());
+        assertEquals(2, sqlCapture.getRows());
+        assertEquals(List.of(SELECT), sqlCapture.getSql());
+        verify(resultSet, times(2)).getString("email");
+        verify(statement).executeUpdate("delete from users");
+    }
+
+    @Test
+    void testNoCapture_ReturnsConnectionUnwrapped() throws Exception {
+        // Act
+        Connection unwrapped = dataSource.getConnection();
+
+        // Assert
+        assertSame(connection, unwrapped);
+    }
+
+    private static ContextSnapshot.Scope bind(SqlCapture sqlCapture) {
+        return ContextSnapshotFactory.builder().build()
+                .captureFrom(GraphQLContext.of(Map.of(SqlCapture.CONTEXT_KEY, sqlCapture)))
+                .setThreadLocals();
+    }
+}
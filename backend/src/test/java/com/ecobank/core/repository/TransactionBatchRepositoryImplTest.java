@@ -0,0 +1,63 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TransactionBatchRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TransactionBatchRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        ReflectionTestUtils.setField(repository, "batchSize", 2);
+    }
+
+    @Test
+    void testInsertInBatches_DetachesOnlyTheBatchAfterEachFlush() {
+        // Arrange
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            transactions.add(Transaction.builder().merchant("Merchant " + i).build());
+        }
+
+        // Act
+        repository.insertInBatches(transactions);
+
+        // Assert
+        InOrder inOrder = inOrder(entityManager);
+        inOrder.verify(entityManager).persist(transactions.get(0));
+        inOrder.verify(entityManager).persist(transactions.get(1));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).detach(transactions.get(0));
+        inOrder.verify(entityManager).detach(transactions.get(1));
+        inOrder.verify(entityManager).persist(transactions.get(2));
+        inOrder.verify(entityManager).persist(transactions.get(3));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).detach(transactions.get(2));
+        inOrder.verify(entityManager).detach(transactions.get(3));
+        inOrder.verify(entityManager).persist(transactions.get(4));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).detach(transactions.get(4));
+        verify(entityManager, times(5)).detach(any());
+        verify(entityManager, never()).clear();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecobank.core.repository;
+
+import com.ecobank.core.dto.TransactionView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionViewRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Tuple> query;
+
+    private TransactionViewRepositoryImpl repository;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TransactionViewRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        userId = UUID.randomUUID();
+
+        when(entityManager.createQuery(anyString(), eq(Tuple.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+    }
+
+    @Test
+    void testFindViews_SelectsOnlyRequestedColumns() {
+        // Arrange
+        UUID transactionId = UUID.randomUUID();
+        Tuple row = mock(Tuple.class);
+        when(row.get(0)).thenReturn(transactionId);
+        when(row.get(1)).thenReturn(new BigDecimal("12.50"));
+        when(row.get(2)).thenReturn(userId);
+        when(query.getResultList()).thenReturn(List.of(row));
+
+        // Act
+        List<TransactionView> views = repository.findViewsByUserId(
+                userId, null, List.of("amount", "user", "__typename"), 500);
+
+        // Assert
+        verify(entityManager).createQuery(
+                "SELECT t.id, t.amount, t.user.id FROM Transaction t WHERE t.user.id = :userId " +
+                "ORDER BY t.transactionDate DESC, t.id DESC", Tuple.class);
+        verify(query).setMaxResults(500);
+        verify(query, never()).setParameter(eq("category"), any());
+        assertEquals(1, views.size());
+        assertEquals(transactionId, views.get(0).getId());
+        assertEquals(new BigDecimal("12.50"), views.get(0).getAmount());
+        assertEquals(userId, views.get(0).getUserId());
+        assertNull(views.get(0).getCategory());
+        assertNull(views.get(0).getCarbonFootprint());
+    }
+
+    @Test
+    void testFindViews_FiltersByCategory() {
+        // Arrange
+        when(query.getResultList()).thenReturn(List.of());
+
+        // Act
+        List<TransactionView> views = repository.findViewsByUserId(userId, "FOOD", List.of("id", "category"), 20);
+
+        // Assert
+        verify(entityManager).createQuery(
+                "SELECT t.id, t.category FROM Transaction t WHERE t.user.id = :userId AND t.category = :category " +
+                "ORDER BY t.transactionDate DESC, t.id DESC", Tuple.class);
+        verify(query).setParameter("category", "FOOD");
+        assertTrue(views.isEmpty());
+    }
+}
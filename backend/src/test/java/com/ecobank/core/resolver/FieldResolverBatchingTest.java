@@ -0,0 +1,146 @@
+package com.ecobank.core.resolver;
+
+import com.ecobank.core.dto.TransactionView;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.TransactionRepository;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.PrincipalCache;
+import com.ecobank.core.service.BlockchainService;
+import com.ecobank.core.service.CarbonCalculatorService;
+import com.ecobank.core.service.CarbonLedgerService;
+import com.ecobank.core.service.TransactionEventBus;
+import com.ecobank.core.service.TransactionService;
+import com.ecobank.core.service.UserService;
+import com.ecobank.core.service.UserStatsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FieldResolverBatchingTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CarbonCalculatorService carbonCalculatorService;
+
+    @Mock
+    private BlockchainService blockchainService;
+
+    @Mock
+    private CarbonLedgerService carbonLedgerService;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TransactionEventBus transactionEventBus;
+
+    @Mock
+    private UserStatsCache userStatsCache;
+
+    private UserResolver userResolver;
+    private TransactionResolver transactionResolver;
+
+    private List<User> users;
+    private List<Transaction> transactions;
+
+    @BeforeEach
+    void setUp() {
+        UserService userService = new UserService(userRepository, carbonLedgerService, principalCache,
+                userStatsCache);
+        TransactionService transactionService = new TransactionService(
+                transactionRepository, userService, carbonCalculatorService, blockchainService, carbonLedgerService,
+                transactionEventBus, userStatsCache);
+        userResolver = new UserResolver(transactionService);
+        transactionResolver = new TransactionResolver(userService);
+
+        users = new ArrayList<>();
+        transactions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            User user = User.builder().id(UUID.randomUUID()).email("user" + i + "@example.com").build();
+            users.add(user);
+            for (int j = 0; j < i % 3; j++) {
+                transactions.add(Transaction.builder()
+                        .id(UUID.randomUUID())
+                        .user(user)
+                        .amount(BigDecimal.TEN)
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    void testUserTransactions_OneQueryForAllUsers() {
+        // Arrange
+        when(transactionRepository.findNewestByUserIdIn(anyCollection(), eq(TransactionService.MAX_TRANSACTIONS_PER_USER)))
+                .thenReturn(transactions);
+
+        // Act
+        List<List<Transaction>> result = userResolver.resolveTransactions(users);
+
+        // Assert
+        assertEquals(100, result.size());
+        assertEquals(0, result.get(0).size());
+        assertEquals(1, result.get(1).size());
+        assertEquals(2, result.get(2).size());
+        assertSame(users.get(2), result.get(2).get(0).getUser());
+        verify(transactionRepository, times(1)).findNewestByUserIdIn(anyCollection(), anyInt());
+        verify(transactionRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void testTransactionUser_OneQueryForAllTransactions() {
+        // Arrange
+        when(userRepository.findAllById(anyCollection())).thenReturn(users);
+
+        // Act
+        List<User> result = transactionResolver.resolveUser(transactions);
+
+        // Assert
+        assertEquals(transactions.size(), result.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            assertSame(transactions.get(i).getUser(), result.get(i));
+        }
+        verify(userRepository, times(1)).findAllById(anyCollection());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void testTransactionViewUser_OneQueryForAllProjections() {
+        // Arrange
+        when(userRepository.findAllById(anyCollection())).thenReturn(users);
+        List<TransactionView> views = transactions.stream()
+                .map(t -> TransactionView.builder().id(t.getId()).userId(t.getUser().getId()).build())
+                .toList();
+
+        // Act
+        List<User> result = transactionResolver.resolveUser(views);
+
+        // Assert
+        assertEquals(views.size(), result.size());
+        for (int i = 0; i < views.size(); i++) {
+            assertSame(transactions.get(i).getUser(), result.get(i));
+        }
+        verify(userRepository, times(1)).findAllById(anyCollection());
+    }
+}
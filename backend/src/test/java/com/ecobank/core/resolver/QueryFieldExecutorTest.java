@@ -0,0 +1,96 @@
+package com.ecobank.core.resolver;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryFieldExecutorTest {
+
+    private QueryFieldExecutor queryFieldExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (queryFieldExecutor != null) {
+            queryFieldExecutor.destroy();
+        }
+    }
+
+    @Test
+    void testSupply_TwoFieldsOverlapOffTheCallingThread() throws Exception {
+        // Arrange: each field only finishes once the other has started
+        queryFieldExecutor = new QueryFieldExecutor(2);
+        CountDownLatch started = new CountDownLatch(2);
+        Thread caller = Thread.currentThread();
+
+        // Act
+        CompletableFuture<Thread> first = queryFieldExecutor.supply(() -> awaitBoth(started));
+        CompletableFuture<Thread> second = queryFieldExecutor.supply(() -> awaitBoth(started));
+
+        // Assert
+        for (Thread thread : List.of(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS))) {
+            assertNotSame(caller, thread);
+            assertTrue(thread.isVirtual());
+        }
+    }
+
+    @Test
+    void testSupply_RunsAtMostMaxConcurrencyFieldsAtOnce() throws Exception {
+        // Arrange
+        queryFieldExecutor = new QueryFieldExecutor(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        // Act
+        List<CompletableFuture<Integer>> fields = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            fields.add(queryFieldExecutor.supply(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50);
+                return running.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(fields.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    void testConnectionPoolSize_ReadsThePoolBehindWrappers() {
+        // Arrange: the pool is never started, so no database is needed
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setMaximumPoolSize(7);
+
+            // Act & Assert
+            assertEquals(7, QueryFieldExecutor.connectionPoolSize(new DelegatingDataSource(pool)));
+        }
+    }
+
+    private static Thread awaitBoth(CountDownLatch started) {
+        started.countDown();
+        try {
+            assertTrue(started.await(2, TimeUnit.SECONDS), "the other field never started");
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return Thread.currentThread();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecobank.core.resolver;
+
+import com.ecobank.core.dto.CarbonStats;
+import com.ecobank.core.dto.CategoryBreakdown;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.security.AuthenticatedUser;
+import com.ecobank.core.service.FactorRestatementService;
+import com.ecobank.core.service.TransactionService;
+import com.ecobank.core.service.UserService;
+import com.ecobank.core.service.UserStatsCache;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.scalars.ExtendedScalars;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryResolverConcurrencyTest {
+
+    private static final Duration FIELD_LATENCY = Duration.ofMillis(200);
+
+    private static final String DASHBOARD_QUERY = """
+            query Dashboard($userId: UUID!) {
+                getCurrentUser { id email }
+                getCarbonStats(userId: $userId) { totalCarbon ecoScore }
+                getCategoryBreakdown(userId: $userId) { category }
+                getMonthlyHistoricalCarbon(userId: $userId, months: 6)
+            }
+            """;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private FactorRestatementService factorRestatementService;
+
+    @Mock
+    private UserStatsCache userStatsCache;
+
+    private QueryFieldExecutor queryFieldExecutor;
+    private UUID userId;
+    private Authentication authentication;
+    private AtomicReference<Authentication> seenAuthentication;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        AuthenticatedUser principal = new AuthenticatedUser(userId, "test@example.com", List.of());
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        seenAuthentication = new AtomicReference<>();
+
+        User user = User.builder().id(userId).email("test@example.com").build();
+        when(userService.getCurrentUser()).thenAnswer(invocation -> {
+            seenAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            return slow(user).answer(invocation);
+        });
+        when(transactionService.getCarbonStats(userId)).thenAnswer(slow(CarbonStats.builder()
+                .userId(userId)
+                .totalCarbon(new BigDecimal("120.50"))
+                .ecoScore(72)
+                .build()));
+        when(transactionService.getCategoryBreakdownList(userId)).thenAnswer(slow(List.of(
+                CategoryBreakdown.builder().category("FOOD").build())));
+        // Pass-through, so the warm-up run does not serve the timed run from memory
+        when(userStatsCache.getCarbonStats(eq(userId), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(userStatsCache.getCategoryBreakdown(eq(userId), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(transactionService.getMonthlyHistoricalCarbon(userId, 6)).thenAnswer(slow(List.of(
+                new BigDecimal("10.00"), new BigDecimal("12.50"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (queryFieldExecutor != null) {
+            queryFieldExecutor.destroy();
+        }
+    }
+
+    @Test
+    void testFourFieldQuery_TakesAboutTheSlowestField() throws Exception {
+        // Arrange
+        GraphQL graphQL = graphQL(4);
+
+        // Act
+        long start = System.nanoTime();
+        ExecutionResult result = execute(graphQL);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(List.of(), result.getErrors());
+        Map<String, Object> data = result.getData();
+        assertEquals(4, data.size());
+        assertEquals(List.of(10.0, 12.5), data.get("getMonthlyHistoricalCarbon"));
+        assertSame(authentication, seenAuthentication.get());
+        assertTrue(elapsed.compareTo(FIELD_LATENCY.multipliedBy(2)) < 0,
+                "4 fields of " + FIELD_LATENCY.toMillis() + " ms took " + elapsed.toMillis() + " ms");
+    }
+
+    @Test
+    void testFourFieldQuery_WithOnePermitTakesTheSum() throws Exception {
+        // Arrange
+        GraphQL graphQL = graphQL(1);
+
+        // Act
+        long start = System.nanoTime();
+        ExecutionResult result = execute(graphQL);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(List.of(), result.getErrors());
+        assertTrue(elapsed.compareTo(FIELD_LATENCY.multipliedBy(4)) >= 0,
+                "4 serial fields of " + FIELD_LATENCY.toMillis() + " ms took " + elapsed.toMillis() + " ms");
+    }
+
+    private GraphQL graphQL(int maxConcurrency) throws Exception {
+        queryFieldExecutor = new QueryFieldExecutor(maxConcurrency);
+        QueryResolver queryResolver = new QueryResolver(userService, transactionService, queryFieldExecutor,
+                factorRestatementService, userStatsCache);
+
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .scalar(ExtendedScalars.UUID)
+                .scalar(ExtendedScalars.GraphQLBigDecimal)
+                .scalar(ExtendedScalars.DateTime)
+                .type("Query", builder -> builder
+                        .dataFetcher("getCurrentUser", env -> queryResolver.getCurrentUser())
+                        .dataFetcher("getCarbonStats", env -> queryResolver.getCarbonStats(env.getArgument("userId")))
+                        .dataFetcher("getCategoryBreakdown",
+                                env -> queryResolver.getCategoryBreakdown(env.getArgument("userId")))
+                        .dataFetcher("getMonthlyHistoricalCarbon", env -> queryResolver.getMonthlyHistoricalCarbon(
+                                env.getArgument("userId"), env.getArgument("months"))))
+                .build();
+        try (Reader schema = new InputStreamReader(
+                new ClassPathResource("graphql/schema.graphqls").getInputStream(), StandardCharsets.UTF_8)) {
+            GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(
+                    new SchemaParser().parse(schema), wiring)).build();
+            // Warm up so the timed run does not pay for class loading and starting pool threads
+            execute(graphQL);
+            return graphQL;
+        }
+    }
+
+    private ExecutionResult execute(GraphQL graphQL) {
+        return graphQL.execute(builder -> builder
+                .query(DASHBOARD_QUERY)
+                .variables(Map.of("userId", userId.toString())));
+    }
+
+    private static <T> Answer<T> slow(T result) {
+        return invocation -> {
+            Thread.sleep(FIELD_LATENCY);
+            return result;
+        };
+    }
+}
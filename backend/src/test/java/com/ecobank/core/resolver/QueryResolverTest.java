@@ -0,0 +1,143 @@
+package com.ecobank.core.resolver;
+
+import com.ecobank.core.dto.Dashboard;
+import com.ecobank.core.dto.MonthlySummary;
+import com.ecobank.core.dto.TransactionConnection;
+import com.ecobank.core.security.AuthenticatedUser;
+import com.ecobank.core.service.FactorRestatementService;
+import com.ecobank.core.service.TransactionService;
+import com.ecobank.core.service.UserService;
+import com.ecobank.core.service.UserStatsCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryResolverTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private FactorRestatementService factorRestatementService;
+
+    @Mock
+    private UserStatsCache userStatsCache;
+
+    private QueryFieldExecutor queryFieldExecutor;
+    private QueryResolver queryResolver;
+    private UUID userId;
+    private UUID otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        otherUserId = UUID.randomUUID();
+        queryFieldExecutor = new QueryFieldExecutor(2);
+        queryResolver = new QueryResolver(userService, transactionService, queryFieldExecutor,
+                factorRestatementService, userStatsCache);
+        authenticate("ROLE_USER");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        queryFieldExecutor.destroy();
+    }
+
+    @Test
+    void testGetUserTransactionsConnection_OwnTransactions() {
+        // Arrange
+        TransactionConnection connection = TransactionConnection.builder().edges(List.of()).build();
+        when(transactionService.getUserTransactionsConnection(userId, 20, null)).thenReturn(connection);
+
+        // Act & Assert
+        assertSame(connection, queryResolver.getUserTransactionsConnection(userId, 20, null));
+    }
+
+    @Test
+    void testGetUserTransactionsConnection_RejectsOtherUsersAndAnonymous() {
+        // Act & Assert
+        assertThrows(AccessDeniedException.class,
+                () -> queryResolver.getUserTransactionsConnection(otherUserId, 20, null));
+        SecurityContextHolder.clearContext();
+        assertThrows(AccessDeniedException.class,
+                () -> queryResolver.getUserTransactionsConnection(userId, 20, null));
+        verify(transactionService, never()).getUserTransactionsConnection(any(), any(), any());
+    }
+
+    @Test
+    void testGetUserTransactionsConnection_AdminReadsAnyUser() {
+        // Arrange
+        authenticate("ROLE_ADMIN");
+        TransactionConnection connection = TransactionConnection.builder().edges(List.of()).build();
+        when(transactionService.getUserTransactionsConnection(otherUserId, 20, null)).thenReturn(connection);
+
+        // Act & Assert
+        assertSame(connection, queryResolver.getUserTransactionsConnection(otherUserId, 20, null));
+    }
+
+    @Test
+    void testGetMonthlySummary_RejectsOtherUsersBeforeQueuing() {
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> queryResolver.getMonthlySummary(otherUserId, 2026, 3));
+        verify(transactionService, never()).getMonthlySummary(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetMonthlySummary_OwnSummary() throws Exception {
+        // Arrange
+        MonthlySummary summary = MonthlySummary.builder().userId(userId).year(2026).month(3).build();
+        when(transactionService.getMonthlySummary(userId, 2026, 3)).thenReturn(summary);
+
+        // Act & Assert
+        assertSame(summary, queryResolver.getMonthlySummary(userId, 2026, 3).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDashboardFields_RejectOtherUsers() {
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> queryResolver.getDashboard(otherUserId, 12));
+        assertThrows(AccessDeniedException.class, () -> queryResolver.getCarbonStats(otherUserId));
+        assertThrows(AccessDeniedException.class, () -> queryResolver.getCategoryBreakdown(otherUserId));
+        assertThrows(AccessDeniedException.class, () -> queryResolver.getMonthlyHistoricalCarbon(otherUserId, 6));
+        verifyNoInteractions(transactionService, userStatsCache);
+    }
+
+    @Test
+    void testGetDashboard_AdminReadsAnyUser() throws Exception {
+        // Arrange
+        authenticate("ROLE_ADMIN");
+        Dashboard dashboard = Dashboard.builder().monthlyHistoricalCarbon(List.of()).build();
+        when(transactionService.getDashboard(otherUserId, 12)).thenReturn(dashboard);
+
+        // Act & Assert
+        assertSame(dashboard, queryResolver.getDashboard(otherUserId, 12).get(5, TimeUnit.SECONDS));
+    }
+
+    private void authenticate(String role) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "test@example.com",
+                List.of(new SimpleGrantedAuthority(role)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
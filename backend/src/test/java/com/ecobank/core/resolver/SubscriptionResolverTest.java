@@ -0,0 +1,69 @@
+package com.ecobank.core.resolver;
+
+import com.ecobank.core.dto.CarbonUpdate;
+import com.ecobank.core.security.AuthenticatedUser;
+import com.ecobank.core.service.TransactionEventBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionResolverTest {
+
+    @Mock
+    private TransactionEventBus transactionEventBus;
+
+    @InjectMocks
+    private SubscriptionResolver subscriptionResolver;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        AuthenticatedUser user = new AuthenticatedUser(userId, "test@example.com", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testCarbonFootprintUpdated_OwnEvents() {
+        // Arrange
+        Flux<CarbonUpdate> updates = Flux.empty();
+        when(transactionEventBus.subscribeCarbonUpdates(userId)).thenReturn(updates);
+
+        // Act & Assert
+        assertSame(updates, subscriptionResolver.carbonFootprintUpdated(userId));
+    }
+
+    @Test
+    void testSubscriptions_RejectOtherUsersAndAnonymous() {
+        // Act & Assert
+        UUID otherUserId = UUID.randomUUID();
+        assertThrows(AccessDeniedException.class, () -> subscriptionResolver.transactionCreated(otherUserId));
+        assertThrows(AccessDeniedException.class, () -> subscriptionResolver.carbonFootprintUpdated(otherUserId));
+
+        SecurityContextHolder.clearContext();
+        assertThrows(AccessDeniedException.class, () -> subscriptionResolver.transactionCreated(userId));
+        verifyNoInteractions(transactionEventBus);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecobank.core.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-256-signing";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = newProvider(SECRET, 60_000);
+    }
+
+    @Test
+    void testParseClaims_ValidToken() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken("test@example.com");
+
+        // Act
+        Optional<Claims> first = jwtTokenProvider.parseClaims(token);
+        Optional<Claims> second = jwtTokenProvider.parseClaims(token);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertEquals("test@example.com", first.get().getSubject());
+        assertSame(first.get(), second.get()); // served from the verified-token cache
+        assertTrue(jwtTokenProvider.validateToken(token));
+        assertEquals("test@example.com", jwtTokenProvider.getUsernameFromToken(token));
+    }
+
+    @Test
+    void testParseClaims_TamperedToken() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken("test@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(jwtTokenProvider.parseClaims(tampered).isEmpty());
+        assertFalse(jwtTokenProvider.validateToken(tampered));
+    }
+
+    @Test
+    void testParseClaims_TokenSignedWithOtherKey() {
+        // Arrange
+        JwtTokenProvider other = newProvider("another-secret-key-that-is-long-enough-for-hmac-sha-256", 60_000);
+        String token = other.generateToken("test@example.com");
+
+        // Act & Assert
+        assertTrue(jwtTokenProvider.parseClaims(token).isEmpty());
+    }
+
+    @Test
+    void testParseClaims_ExpiredToken() {
+        // Arrange
+        JwtTokenProvider shortLived = newProvider(SECRET, -1_000);
+        String token = shortLived.generateToken("test@example.com");
+
+        // Act & Assert
+        assertTrue(jwtTokenProvider.parseClaims(token).isEmpty());
+        assertTrue(jwtTokenProvider.parseClaims("").isEmpty());
+        assertTrue(jwtTokenProvider.parseClaims("not.a.jwt").isEmpty());
+    }
+
+    private JwtTokenProvider newProvider(String secret, long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", 100L);
+        provider.init();
+        return provider;
+    }
+}
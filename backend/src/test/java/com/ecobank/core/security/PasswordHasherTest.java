@@ -0,0 +1,93 @@
+package com.ecobank.core.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    void testVerify_ReturnsUpgradedHashOnlyWhenCostDiffers() {
+        // Arrange
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 1, 4);
+        String currentHash = new BCryptPasswordEncoder(4).encode("password123");
+        String oldHash = new BCryptPasswordEncoder(5).encode("password123");
+
+        // Act
+        PasswordHasher.Verification current = passwordHasher.verify("password123", currentHash).join();
+        PasswordHasher.Verification old = passwordHasher.verify("password123", oldHash).join();
+        PasswordHasher.Verification wrong = passwordHasher.verify("wrong", oldHash).join();
+        PasswordHasher.Verification unknown = passwordHasher.verify("password123", null).join();
+
+        // Assert
+        assertTrue(current.matches());
+        assertNull(current.upgradedHash());
+        assertTrue(old.matches());
+        assertTrue(old.upgradedHash().startsWith("$2a$04$"));
+        assertTrue(new BCryptPasswordEncoder(4).matches("password123", old.upgradedHash()));
+        assertFalse(wrong.matches());
+        assertNull(wrong.upgradedHash());
+        assertFalse(unknown.matches());
+    }
+
+    @Test
+    void testEncode_RejectsImmediatelyWhenQueueIsFull() throws Exception {
+        // Arrange: one worker held busy and a queue of one already taken
+        BlockingEncoder encoder = new BlockingEncoder();
+        passwordHasher = new PasswordHasher(encoder, 4, 1, 1);
+        CompletableFuture<String> running = passwordHasher.encode("first");
+        assertTrue(encoder.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = passwordHasher.encode("second");
+
+        // Act
+        long start = System.nanoTime();
+        CompletableFuture<String> rejected = passwordHasher.encode("third");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsedMillis < 100, "rejection took " + elapsedMillis + " ms");
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(failure.getCause().getMessage().contains("Too many authentication requests"));
+        encoder.release.countDown();
+        assertEquals("hash:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static class BlockingEncoder extends BCryptPasswordEncoder {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingEncoder() {
+            super(4);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (Thread.currentThread().getName().startsWith("password-hash-")) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
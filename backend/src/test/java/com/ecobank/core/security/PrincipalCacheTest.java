@@ -0,0 +1,110 @@
+package com.ecobank.core.security;
+
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(userRepository, meterRegistry, Duration.ofMinutes(5), 100);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGet_LoadsOnceThenServesFromCache() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        AuthenticatedUser first = principalCache.get("test@example.com");
+        AuthenticatedUser second = principalCache.get("test@example.com");
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(user.getId(), first.getId());
+        assertEquals("ROLE_USER", first.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        assertEquals(0.5, principalCache.getHitRate());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principals").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testInvalidate_ForcesReload() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        principalCache.get("test@example.com");
+        principalCache.invalidate("test@example.com");
+        principalCache.get("test@example.com");
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void testInvalidateAfterCommit_EvictsOnlyOnceCommitted() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        principalCache.get("test@example.com");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        principalCache.invalidateAfterCommit("test@example.com");
+        principalCache.get("test@example.com");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        principalCache.get("test@example.com");
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void testGet_UnknownUser() {
+        // Arrange
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("missing@example.com"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecobank.core.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketAuthInterceptorTest {
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private WebSocketSessionInfo sessionInfo;
+
+    private WebSocketAuthInterceptor interceptor;
+    private AuthenticatedUser user;
+    private AtomicReference<Object> seenContext;
+    private WebGraphQlInterceptor.Chain chain;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new WebSocketAuthInterceptor(jwtTokenProvider, principalCache);
+        user = new AuthenticatedUser(UUID.randomUUID(), "test@example.com",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(sessionInfo.getAttributes()).thenReturn(new HashMap<>());
+
+        // Records the security context the rest of the chain would run with
+        seenContext = new AtomicReference<>();
+        chain = request -> Mono.deferContextual(context -> {
+            seenContext.set(context.getOrDefault(SecurityContext.class.getName(), null));
+            return Mono.empty();
+        });
+    }
+
+    @Test
+    void testValidToken_OperationsRunAsThatUser() {
+        // Arrange
+        Claims claims = new DefaultClaims().setSubject("test@example.com");
+        when(jwtTokenProvider.parseClaims("token")).thenReturn(Optional.of(claims));
+        when(principalCache.get("test@example.com")).thenReturn(user);
+
+        // Act
+        interceptor.handleConnectionInitialization(sessionInfo,
+                Map.of(WebSocketAuthInterceptor.AUTHORIZATION_KEY, "Bearer token")).block();
+        interceptor.intercept(request(), chain).block();
+
+        // Assert
+        SecurityContext securityContext = assertInstanceOf(SecurityContext.class, seenContext.get());
+        assertSame(user, securityContext.getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void testValidToken_ReachesDataFetchers() {
+        // Arrange: the handshake ran anonymously, as it does for browser clients
+        Claims claims = new DefaultClaims().setSubject("test@example.com");
+        when(jwtTokenProvider.parseClaims("token")).thenReturn(Optional.of(claims));
+        when(principalCache.get("test@example.com")).thenReturn(user);
+        GraphQlSource graphQlSource = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ByteArrayResource("type Query { whoami: String }".getBytes()))
+                .configureRuntimeWiring(wiring -> wiring.type("Query", builder -> builder.dataFetcher("whoami",
+                        env -> SecurityContextHolder.getContext().getAuthentication().getName())))
+                .build();
+        WebGraphQlHandler handler = WebGraphQlHandler.builder(new DefaultExecutionGraphQlService(graphQlSource))
+                .interceptor(interceptor)
+                .build();
+        SecurityContext anonymous = SecurityContextHolder.createEmptyContext();
+        anonymous.setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+                List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))));
+
+        // Act
+        interceptor.handleConnectionInitialization(sessionInfo,
+                Map.of(WebSocketAuthInterceptor.AUTHORIZATION_KEY, "token")).block();
+        WebGraphQlResponse response = handler.handleRequest(request("{ whoami }"))
+                .contextWrite(Context.of(SecurityContext.class.getName(), anonymous))
+                .block();
+
+        // Assert
+        assertEquals(Map.of("whoami", "test@example.com"), response.getData());
+    }
+
+    @Test
+    void testMissingToken_RejectsConnection() {
+        // Arrange
+        when(jwtTokenProvider.parseClaims(null)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class,
+                () -> interceptor.handleConnectionInitialization(sessionInfo, Map.of()).block());
+        verifyNoInteractions(principalCache);
+        interceptor.intercept(request(), chain).block();
+        assertNull(seenContext.get());
+    }
+
+    private WebSocketGraphQlRequest request() {
+        return request("subscription { carbonFootprintUpdated(userId: \"" + user.getId() + "\") { ecoScore } }");
+    }
+
+    private WebSocketGraphQlRequest request(String document) {
+        return new WebSocketGraphQlRequest(URI.create("http://localhost/graphql-ws"), new HttpHeaders(),
+                new LinkedMultiValueMap<>(), null, Map.of(), Map.of("query", document),
+                "1", Locale.ENGLISH, sessionInfo);
+    }
+}
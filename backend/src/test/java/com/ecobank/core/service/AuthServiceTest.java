@@ -0,0 +1,156 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.AuthResponse;
+import com.ecobank.core.dto.LoginRequest;
+import com.ecobank.core.dto.RegisterRequest;
+import com.ecobank.core.dto.UserProfile;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.JwtTokenProvider;
+import com.ecobank.core.security.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private UserService userService;
+
+    private PasswordHasher passwordHasher;
+    private ExecutorService taskExecutor;
+    private AuthService authService;
+
+    private User user;
+    private LoginRequest request;
+
+    @BeforeEach
+    void setUp() {
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 1, 4);
+        taskExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "task-1"));
+        authService = new AuthService(userRepository, passwordHasher, jwtTokenProvider, userService, taskExecutor);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .passwordHash(new BCryptPasswordEncoder(4).encode("password123"))
+                .build();
+        request = new LoginRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    void testLogin_LoadsUserOnceAndIssuesTokens() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.generateToken("test@example.com")).thenReturn("access");
+        when(jwtTokenProvider.generateRefreshToken("test@example.com")).thenReturn("refresh");
+        when(userService.mapToUserProfile(user)).thenReturn(UserProfile.builder().id(user.getId()).build());
+
+        // Act
+        AuthResponse response = authService.login(request).join();
+
+        // Assert
+        assertEquals("access", response.getToken());
+        assertEquals("refresh", response.getRefreshToken());
+        assertEquals(user.getId(), response.getUser().getId());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        verifyNoMoreInteractions(userRepository);
+        verify(userService, never()).updatePasswordHash(any(), any());
+    }
+
+    @Test
+    void testRegister_SavesUserOffTheHashingPool() {
+        // Arrange
+        RegisterRequest register = new RegisterRequest();
+        register.setEmail("new@example.com");
+        register.setPassword("password123");
+        AtomicReference<String> savingThread = new AtomicReference<>();
+        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
+        when(userService.createUser(eq(register), anyString())).thenAnswer(invocation -> {
+            savingThread.set(Thread.currentThread().getName());
+            return user;
+        });
+
+        // Act
+        authService.register(register).join();
+
+        // Assert
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(userService).createUser(eq(register), hash.capture());
+        assertTrue(new BCryptPasswordEncoder().matches("password123", hash.getValue()));
+        assertEquals("task-1", savingThread.get());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testLogin_RehashesPasswordStoredWithAnotherCost() {
+        // Arrange
+        user.setPasswordHash(new BCryptPasswordEncoder(5).encode("password123"));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        authService.login(request).join();
+
+        // Assert
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(userService).updatePasswordHash(same(user), newHash.capture());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        verifyNoMoreInteractions(userRepository);
+        assertTrue(newHash.getValue().startsWith("$2a$04$"));
+        assertTrue(new BCryptPasswordEncoder().matches("password123", newHash.getValue()));
+    }
+
+    @Test
+    void testLogin_RejectsWrongPasswordAndUnknownEmailAlike() {
+        // Arrange
+        LoginRequest unknown = new LoginRequest();
+        unknown.setEmail("nobody@example.com");
+        unknown.setPassword("password123");
+        request.setPassword("wrong");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        CompletionException wrongPassword = assertThrows(CompletionException.class,
+                () -> authService.login(request).join());
+        CompletionException unknownEmail = assertThrows(CompletionException.class,
+                () -> authService.login(unknown).join());
+
+        // Assert
+        assertInstanceOf(BadCredentialsException.class, wrongPassword.getCause());
+        assertInstanceOf(BadCredentialsException.class, unknownEmail.getCause());
+        assertEquals(wrongPassword.getCause().getMessage(), unknownEmail.getCause().getMessage());
+        verifyNoInteractions(jwtTokenProvider);
+    }
+}
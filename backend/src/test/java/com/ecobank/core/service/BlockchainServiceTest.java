@@ -0,0 +1,230 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.entity.AnchorOutboxEntry;
+import com.ecobank.core.entity.BlockchainAnchor;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.AnchorOutboxRepository;
+import com.ecobank.core.repository.BlockchainAnchorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockchainServiceTest {
+
+    @Mock
+    private AnchorOutboxRepository outboxRepository;
+
+    @Mock
+    private BlockchainAnchorRepository anchorRepository;
+
+    private LocalLedgerClient ledgerClient;
+    private BlockchainService blockchainService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ledgerClient = spy(new LocalLedgerClient());
+        blockchainService = new BlockchainService(outboxRepository, anchorRepository, ledgerClient);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordTransactionsAsync_OnlyWritesOutbox() {
+        // Arrange
+        List<Transaction> transactions = transactions(3);
+
+        // Act
+        blockchainService.recordTransactionsAsync(transactions);
+
+        // Assert
+        verify(outboxRepository).saveAll(argThat((List<AnchorOutboxEntry> entries) ->
+                entries.size() == 3
+                        && entries.get(0).getTransactionId().equals(transactions.get(0).getId())
+                        && entries.get(0).getLeafHash().equals(BlockchainService.leafHash(transactions.get(0)))
+                        && entries.get(0).getAnchorId() == null
+                        && entries.get(0).isNew()));
+        verifyNoInteractions(ledgerClient, anchorRepository);
+    }
+
+    @Test
+    void testClaimNextBatch_StoresBatchBeforeLedgerCall() {
+        // Arrange
+        List<AnchorOutboxEntry> entries = new ArrayList<>();
+        for (Transaction transaction : transactions(5)) {
+            entries.add(AnchorOutboxEntry.builder()
+                    .transactionId(transaction.getId())
+                    .leafHash(BlockchainService.leafHash(transaction))
+                    .build());
+        }
+        UUID anchorId = UUID.randomUUID();
+        when(anchorRepository.claimUnsubmitted()).thenReturn(Optional.empty());
+        when(outboxRepository.claimPending(256)).thenReturn(entries);
+        when(anchorRepository.save(any(BlockchainAnchor.class))).thenAnswer(invocation -> {
+            BlockchainAnchor anchor = invocation.getArgument(0);
+            anchor.setId(anchorId);
+            return anchor;
+        });
+
+        // Act
+        BlockchainAnchor batch = blockchainService.claimNextBatch().orElseThrow();
+
+        // Assert
+        List<String> sortedLeaves = entries.stream()
+                .sorted((a, b) -> a.getTransactionId().compareTo(b.getTransactionId()))
+                .map(AnchorOutboxEntry::getLeafHash)
+                .toList();
+        assertEquals(anchorId, batch.getId());
+        assertEquals(MerkleTree.root(sortedLeaves), batch.getMerkleRoot());
+        assertEquals(5, batch.getLeafCount());
+        assertNull(batch.getLedgerReference());
+        assertTrue(batch.getNextAttemptAt().isAfter(OffsetDateTime.now()));
+        assertTrue(entries.stream().allMatch(e -> anchorId.equals(e.getAnchorId())));
+        verify(outboxRepository).saveAll(anyList());
+        verifyNoInteractions(ledgerClient);
+    }
+
+    @Test
+    void testSubmit_AnchorsStoredBatchById() {
+        // Arrange
+        BlockchainAnchor batch = batch();
+        when(anchorRepository.save(batch)).thenReturn(batch);
+
+        // Act
+        boolean first = blockchainService.submit(batch);
+        String reference = batch.getLedgerReference();
+        boolean second = blockchainService.submit(batch);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertNotNull(reference);
+        assertEquals(reference, batch.getLedgerReference());
+        verify(ledgerClient, times(2)).anchor(batch.getId(), batch.getMerkleRoot(), 3);
+        assertEquals(1, ledgerClient.getAnchorCount());
+    }
+
+    @Test
+    void testSubmit_LedgerFailureRetriesSameBatch() {
+        // Arrange
+        BlockchainAnchor batch = batch();
+        doThrow(new RuntimeException("ledger unavailable"))
+                .when(ledgerClient).anchor(any(UUID.class), anyString(), anyInt());
+        when(anchorRepository.claimUnsubmitted()).thenReturn(Optional.of(batch));
+        when(anchorRepository.save(batch)).thenReturn(batch);
+
+        // Act
+        boolean submitted = blockchainService.submit(batch);
+        Optional<BlockchainAnchor> retry = blockchainService.claimNextBatch();
+
+        // Assert
+        assertFalse(submitted);
+        assertEquals(1, batch.getAttempts());
+        assertEquals("ledger unavailable", batch.getLastError());
+        assertNull(batch.getLedgerReference());
+        assertTrue(batch.getNextAttemptAt().isAfter(OffsetDateTime.now().plusSeconds(59)));
+        assertSame(batch, retry.orElseThrow());
+        verify(outboxRepository, never()).claimPending(anyInt());
+    }
+
+    @Test
+    void testMerkleRoot_SeparatesLeavesFromNodesAndCarriesOddNodeUp() {
+        String a = MerkleTree.hash("a");
+        String b = MerkleTree.hash("b");
+        String c = MerkleTree.hash("c");
+
+        assertEquals(MerkleTree.root(List.of(a, b, c)), MerkleTree.root(List.of(a, b, c)));
+        assertNotEquals(MerkleTree.root(List.of(a, b, c)), MerkleTree.root(List.of(b, a, c)));
+        // Duplicating the odd leaf must not reproduce the root
+        assertNotEquals(MerkleTree.root(List.of(a, b, c)), MerkleTree.root(List.of(a, b, c, c)));
+        // A leaf is hashed with its own prefix, so it never equals the root it forms alone
+        assertNotEquals(a, MerkleTree.root(List.of(a)));
+        // Nor can a subtree root be passed off as a leaf
+        String ab = MerkleTree.root(List.of(a, b));
+        assertNotEquals(ab, MerkleTree.root(List.of(MerkleTree.root(List.of(a)), MerkleTree.root(List.of(b)))));
+        assertNotEquals(MerkleTree.root(List.of(a, b, c)), MerkleTree.root(List.of(ab, c)));
+        assertEquals(64, MerkleTree.root(List.of(a, b, c)).length());
+    }
+
+    @Test
+    void testLeafHash_MatchesTheRowReadBackFromTheDatabase() {
+        // Arrange: nanoseconds and a foreign offset in memory
+        Transaction created = transactions(1).get(0);
+        created.setTransactionDate(OffsetDateTime.parse("2026-03-15T10:00:00.123456789+05:30"));
+        // The TIMESTAMP column keeps microseconds (rounded) as wall time in the JVM zone
+        LocalDateTime stored = created.getTransactionDate()
+                .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                .plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+        Transaction reloaded = Transaction.builder()
+                .id(created.getId())
+                .user(user)
+                .amount(new BigDecimal("10.00"))
+                .currency(created.getCurrency())
+                .category(created.getCategory())
+                .carbonFootprint(new BigDecimal("5.00"))
+                .transactionDate(stored.atZone(ZoneId.systemDefault()).toOffsetDateTime())
+                .build();
+
+        // Act
+        String atCreation = BlockchainService.leafHash(created);
+        String fromRow = BlockchainService.leafHash(reloaded);
+
+        // Assert
+        assertEquals(atCreation, fromRow);
+        reloaded.setCarbonFootprint(new BigDecimal("7.50"));
+        assertEquals(atCreation, BlockchainService.leafHash(reloaded));
+        assertEquals(MerkleTree.hash(String.join("|", created.getId().toString(), user.getId().toString(),
+                "10.00", String.valueOf(created.getCurrency()), "FOOD", "2026-03-15T04:30:00.123457Z")),
+                atCreation);
+    }
+
+    private BlockchainAnchor batch() {
+        return BlockchainAnchor.builder()
+                .id(UUID.randomUUID())
+                .merkleRoot(MerkleTree.root(List.of(MerkleTree.hash("a"), MerkleTree.hash("b"), MerkleTree.hash("c"))))
+                .leafCount(3)
+                .nextAttemptAt(OffsetDateTime.now())
+                .build();
+    }
+
+    private List<Transaction> transactions(int count) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(Transaction.builder()
+                    .id(UUID.randomUUID())
+                    .user(user)
+                    .amount(new BigDecimal("10.00"))
+                    .category("FOOD")
+                    .carbonFootprint(new BigDecimal("5.00"))
+                    .transactionDate(OffsetDateTime.now())
+                    .build());
+        }
+        return transactions;
+    }
+}
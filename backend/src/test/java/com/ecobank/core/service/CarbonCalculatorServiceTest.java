@@ -2,14 +2,15 @@ package com.ecobank.core.service;
 
 import com.ecobank.core.entity.CarbonFactor;
 import com.ecobank.core.repository.CarbonFactorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,7 +23,7 @@ class CarbonCalculatorServiceTest {
     @Mock
     private CarbonFactorRepository carbonFactorRepository;
 
-    @InjectMocks
+    private EmissionFactorCache emissionFactorCache;
     private CarbonCalculatorService carbonCalculatorService;
 
     private CarbonFactor foodFactor;
@@ -30,6 +31,9 @@ class CarbonCalculatorServiceTest {
 
     @BeforeEach
     void setUp() {
+        emissionFactorCache = new EmissionFactorCache(carbonFactorRepository, new SimpleMeterRegistry());
+        carbonCalculatorService = new CarbonCalculatorService(carbonFactorRepository, emissionFactorCache);
+
         foodFactor = CarbonFactor.builder()
                 .category("FOOD")
                 .emissionFactor(new BigDecimal("0.5"))
@@ -47,38 +51,40 @@ class CarbonCalculatorServiceTest {
     void testCalculateCarbonFootprint_WithDatabaseFactor() {
         // Arrange
         BigDecimal amount = new BigDecimal("100.00");
-        when(carbonFactorRepository.findByCategory("FOOD"))
-                .thenReturn(Optional.of(foodFactor));
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor));
 
         // Act
         BigDecimal result = carbonCalculatorService.calculateCarbonFootprint(amount, "FOOD");
 
         // Assert
         assertEquals(new BigDecimal("50.00"), result);
-        verify(carbonFactorRepository, times(1)).findByCategory("FOOD");
+        verify(carbonFactorRepository, times(1)).findAll();
+        verify(carbonFactorRepository, never()).findByCategory(anyString());
     }
 
     @Test
     void testCalculateCarbonFootprint_WithDefaultFactor() {
         // Arrange
         BigDecimal amount = new BigDecimal("100.00");
-        when(carbonFactorRepository.findByCategory("FOOD"))
-                .thenReturn(Optional.empty());
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of());
 
         // Act
         BigDecimal result = carbonCalculatorService.calculateCarbonFootprint(amount, "FOOD");
 
         // Assert
         assertEquals(new BigDecimal("50.00"), result); // Default factor is 0.5
-        verify(carbonFactorRepository, times(1)).findByCategory("FOOD");
+        verify(carbonFactorRepository, times(1)).findAll();
+        verify(carbonFactorRepository, never()).findByCategory(anyString());
     }
 
     @Test
     void testCalculateCarbonFootprint_HighEmissionCategory() {
         // Arrange
         BigDecimal amount = new BigDecimal("50.00");
-        when(carbonFactorRepository.findByCategory("TRANSPORT"))
-                .thenReturn(Optional.of(transportFactor));
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(transportFactor));
 
         // Act
         BigDecimal result = carbonCalculatorService.calculateCarbonFootprint(amount, "TRANSPORT");
@@ -91,8 +97,8 @@ class CarbonCalculatorServiceTest {
     void testCalculateCarbonFootprint_SmallAmount() {
         // Arrange
         BigDecimal amount = new BigDecimal("5.50");
-        when(carbonFactorRepository.findByCategory("FOOD"))
-                .thenReturn(Optional.of(foodFactor));
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor));
 
         // Act
         BigDecimal result = carbonCalculatorService.calculateCarbonFootprint(amount, "FOOD");
@@ -104,8 +110,8 @@ class CarbonCalculatorServiceTest {
     @Test
     void testGetEmissionFactor_ExistingCategory() {
         // Arrange
-        when(carbonFactorRepository.findByCategory("FOOD"))
-                .thenReturn(Optional.of(foodFactor));
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor));
 
         // Act
         BigDecimal factor = carbonCalculatorService.getEmissionFactor("FOOD");
@@ -117,8 +123,8 @@ class CarbonCalculatorServiceTest {
     @Test
     void testGetEmissionFactor_NonExistingCategory() {
         // Arrange
-        when(carbonFactorRepository.findByCategory("UNKNOWN"))
-                .thenReturn(Optional.empty());
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor));
 
         // Act
         BigDecimal factor = carbonCalculatorService.getEmissionFactor("UNKNOWN");
@@ -170,23 +176,24 @@ class CarbonCalculatorServiceTest {
     void testCalculateCarbonFootprint_CaseInsensitive() {
         // Arrange
         BigDecimal amount = new BigDecimal("100.00");
-        when(carbonFactorRepository.findByCategory("FOOD"))
-                .thenReturn(Optional.of(foodFactor));
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor));
 
         // Act
         BigDecimal result = carbonCalculatorService.calculateCarbonFootprint(amount, "food");
 
         // Assert
         assertEquals(new BigDecimal("50.00"), result);
-        verify(carbonFactorRepository, times(1)).findByCategory("FOOD");
+        verify(carbonFactorRepository, times(1)).findAll();
+        verify(carbonFactorRepository, never()).findByCategory(anyString());
     }
 
     @Test
     void testCalculateCarbonFootprint_ZeroAmount() {
         // Arrange
         BigDecimal amount = BigDecimal.ZERO;
-        when(carbonFactorRepository.findByCategory("FOOD"))
-                .thenReturn(Optional.of(foodFactor));
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor));
 
         // Act
         BigDecimal result = carbonCalculatorService.calculateCarbonFootprint(amount, "FOOD");
@@ -199,8 +206,8 @@ class CarbonCalculatorServiceTest {
     void testCalculateCarbonFootprint_Precision() {
         // Arrange
         BigDecimal amount = new BigDecimal("33.33");
-        when(carbonFactorRepository.findByCategory("FOOD"))
-                .thenReturn(Optional.of(foodFactor));
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor));
 
         // Act
         BigDecimal result = carbonCalculatorService.calculateCarbonFootprint(amount, "FOOD");
@@ -209,4 +216,74 @@ class CarbonCalculatorServiceTest {
         assertEquals(2, result.scale()); // Should have 2 decimal places
         assertEquals(new BigDecimal("16.67"), result); // 33.33 * 0.5 = 16.665 rounded to 16.67
     }
+
+    @Test
+    void testGetEmissionFactor_ServedFromSnapshot() {
+        // Arrange
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor, transportFactor));
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            carbonCalculatorService.getEmissionFactor(i % 2 == 0 ? "FOOD" : "TRANSPORT");
+        }
+        carbonCalculatorService.getEmissionFactor("UNKNOWN");
+
+        // Assert
+        verify(carbonFactorRepository, times(1)).findAll();
+        verify(carbonFactorRepository, never()).findByCategory(anyString());
+        assertEquals(50, emissionFactorCache.getHitCount());
+        assertEquals(1, emissionFactorCache.getMissCount());
+        assertEquals(1, emissionFactorCache.getReloadCount());
+    }
+
+    @Test
+    void testUpdateCarbonFactor_ReloadsSnapshot() {
+        // Arrange
+        CarbonFactor updatedFood = CarbonFactor.builder()
+                .category("FOOD")
+                .emissionFactor(new BigDecimal("0.9"))
+                .build();
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor))
+                .thenReturn(List.of(updatedFood));
+        when(carbonFactorRepository.findByCategory("FOOD"))
+                .thenReturn(Optional.of(foodFactor));
+        when(carbonFactorRepository.save(any(CarbonFactor.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BigDecimal before = carbonCalculatorService.getEmissionFactor("FOOD");
+        carbonCalculatorService.updateCarbonFactor("FOOD", new BigDecimal("0.9"));
+        BigDecimal after = carbonCalculatorService.getEmissionFactor("FOOD");
+
+        // Assert
+        assertEquals(new BigDecimal("0.5"), before);
+        assertEquals(new BigDecimal("0.9"), after);
+        assertEquals(2, emissionFactorCache.getReloadCount());
+    }
+
+    @Test
+    void testRefreshIfChanged_ReloadsOnlyWhenTableChanged() {
+        // Arrange
+        CarbonFactor updatedFood = CarbonFactor.builder()
+                .category("FOOD")
+                .emissionFactor(new BigDecimal("0.9"))
+                .build();
+        when(carbonFactorRepository.getFactorsVersion())
+                .thenReturn("v1", "v1", "v2", "v2");
+        when(carbonFactorRepository.findAll())
+                .thenReturn(List.of(foodFactor))
+                .thenReturn(List.of(updatedFood));
+
+        // Act
+        BigDecimal before = carbonCalculatorService.getEmissionFactor("FOOD");
+        emissionFactorCache.refreshIfChanged();
+        BigDecimal after = carbonCalculatorService.getCurrentEmissionFactor("FOOD");
+
+        // Assert
+        assertEquals(new BigDecimal("0.5"), before);
+        assertEquals(new BigDecimal("0.9"), after);
+        assertEquals(2, emissionFactorCache.getReloadCount());
+    }
 }
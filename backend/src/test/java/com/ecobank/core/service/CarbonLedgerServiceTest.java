@@ -0,0 +1,195 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.LedgerReconciliationReport;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.MonthlyCarbonLedgerRepository;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.service.CarbonLedgerService.ReconciledChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CarbonLedgerServiceTest {
+
+    @Mock
+    private MonthlyCarbonLedgerRepository ledgerRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatsCache userStatsCache;
+
+    @InjectMocks
+    private CarbonLedgerService carbonLedgerService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .build();
+    }
+
+    @Test
+    void testRecordAndRemoveTransaction_ApplyOppositeDeltas() {
+        // Arrange
+        Transaction transaction = Transaction.builder()
+                .user(user)
+                .amount(new BigDecimal("40.00"))
+                .carbonFootprint(new BigDecimal("20.00"))
+                .transactionDate(OffsetDateTime.parse("2026-03-15T10:00:00Z"))
+                .build();
+
+        // Act
+        carbonLedgerService.recordTransaction(transaction);
+        carbonLedgerService.removeTransaction(transaction);
+
+        // Assert
+        verify(ledgerRepository).applyDelta(user.getId(), 2026, 3,
+                new BigDecimal("20.00"), new BigDecimal("40.00"), 1);
+        verify(ledgerRepository).applyDelta(user.getId(), 2026, 3,
+                new BigDecimal("-20.00"), new BigDecimal("-40.00"), -1);
+    }
+
+    @Test
+    void testAdjustTransaction_SkipsUnchangedTotals() {
+        // Arrange
+        Transaction transaction = Transaction.builder()
+                .user(user)
+                .amount(new BigDecimal("40.00"))
+                .carbonFootprint(new BigDecimal("20.00"))
+                .transactionDate(OffsetDateTime.now())
+                .build();
+
+        // Act
+        carbonLedgerService.adjustTransaction(transaction, new BigDecimal("20.00"), new BigDecimal("40.00"));
+
+        // Assert
+        verifyNoInteractions(ledgerRepository);
+    }
+
+    @Test
+    void testGetCarbonByMonth_ReadsLedgerWithFallbackByMonthIndex() {
+        // Arrange
+        YearMonth first = YearMonth.of(2025, 11);
+        YearMonth last = YearMonth.of(2026, 2);
+        when(ledgerRepository.getCarbonByMonth(user.getId(), 2025 * 12 + 10, 2026 * 12 + 1))
+                .thenReturn(List.of(
+                        new Object[]{2025, 12, new BigDecimal("4.50")},
+                        new Object[]{2026, 2, new BigDecimal("1.25")}));
+
+        // Act
+        Map<YearMonth, BigDecimal> carbonByMonth = carbonLedgerService.getCarbonByMonth(user.getId(), first, last);
+
+        // Assert
+        assertEquals(Map.of(
+                YearMonth.of(2025, 12), new BigDecimal("4.50"),
+                YearMonth.of(2026, 2), new BigDecimal("1.25")), carbonByMonth);
+    }
+
+    @Test
+    void testGetMonthlyCarbon_ZeroWhenMonthHasNoCarbon() {
+        // Arrange
+        YearMonth month = YearMonth.of(2026, 3);
+        when(ledgerRepository.getCarbonByMonth(user.getId(), 2026 * 12 + 2, 2026 * 12 + 2)).thenReturn(List.of());
+
+        // Act & Assert
+        assertEquals(BigDecimal.ZERO, carbonLedgerService.getMonthlyCarbon(user.getId(), month));
+        verify(ledgerRepository, never()).findByUserIdAndYearAndMonth(any(), any(), any());
+    }
+
+    @Test
+    void testReconcileChunk_LocksOnlyItsUsersThenReportsRepairedRows() {
+        // Arrange
+        UUID otherUserId = UUID.randomUUID();
+        List<UUID> chunkUsers = List.of(user.getId(), otherUserId);
+        List<Object[]> repaired = new ArrayList<>();
+        repaired.add(new Object[]{user.getId(), "DRIFTED", new BigDecimal("3.00")});
+        repaired.add(new Object[]{user.getId(), "ORPHANED", new BigDecimal("3.00")});
+        repaired.add(new Object[]{otherUserId, "MISSING", new BigDecimal("7.00")});
+        when(userRepository.findIdsAfter(eq(new UUID(0, 0)), any(Pageable.class))).thenReturn(chunkUsers);
+        when(ledgerRepository.countByUserIdIn(chunkUsers)).thenReturn(3L);
+        when(ledgerRepository.rebuildFromTransactions(chunkUsers)).thenReturn(repaired);
+
+        // Act
+        ReconciledChunk chunk = carbonLedgerService.reconcileChunk(new UUID(0, 0)).orElseThrow();
+
+        // Assert
+        LedgerReconciliationReport report = chunk.report();
+        assertEquals(otherUserId, chunk.lastUserId());
+        assertEquals(3, report.getRowsChecked());
+        assertEquals(1, report.getDriftedRows());
+        assertEquals(1, report.getMissingRows());
+        assertEquals(1, report.getOrphanedRows());
+        assertEquals(0, report.getEmptyRows());
+        assertEquals(0, new BigDecimal("13.00").compareTo(report.getTotalCarbonDrift()));
+
+        InOrder inOrder = inOrder(ledgerRepository);
+        inOrder.verify(ledgerRepository).lockUsersAgainstDeltas(chunkUsers);
+        inOrder.verify(ledgerRepository).rebuildFromTransactions(chunkUsers);
+        verify(userStatsCache).invalidateAfterCommit(user.getId());
+        verify(userStatsCache).invalidateAfterCommit(otherUserId);
+    }
+
+    @Test
+    void testReconcileChunk_EmptyRowsAreNotDrift() {
+        // Arrange
+        List<UUID> chunkUsers = List.of(user.getId());
+        List<Object[]> repaired = new ArrayList<>();
+        repaired.add(new Object[]{user.getId(), "EMPTY", new BigDecimal("0.00")});
+        when(userRepository.findIdsAfter(any(UUID.class), any(Pageable.class))).thenReturn(chunkUsers);
+        when(ledgerRepository.rebuildFromTransactions(chunkUsers)).thenReturn(repaired);
+
+        // Act
+        LedgerReconciliationReport report = carbonLedgerService.reconcileChunk(new UUID(0, 0)).orElseThrow().report();
+
+        // Assert
+        assertEquals(1, report.getEmptyRows());
+        assertEquals(0, report.getDriftedRows() + report.getMissingRows() + report.getOrphanedRows());
+        verifyNoInteractions(userStatsCache);
+    }
+
+    @Test
+    void testRecordTransaction_BucketsByApplicationZone() {
+        // Arrange
+        OffsetDateTime date = OffsetDateTime.parse("2026-03-31T23:30:00-10:00");
+        YearMonth expected = YearMonth.from(date.atZoneSameInstant(ZoneId.systemDefault()));
+        Transaction transaction = Transaction.builder()
+                .user(user)
+                .amount(new BigDecimal("40.00"))
+                .carbonFootprint(new BigDecimal("20.00"))
+                .transactionDate(date)
+                .build();
+
+        // Act
+        carbonLedgerService.recordTransaction(transaction);
+
+        // Assert
+        verify(ledgerRepository).applyDelta(user.getId(), expected.getYear(), expected.getMonthValue(),
+                new BigDecimal("20.00"), new BigDecimal("40.00"), 1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.entity.CarbonFactor;
+import com.ecobank.core.repository.CarbonFactorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmissionFactorCacheTest {
+
+    @Mock
+    private CarbonFactorRepository carbonFactorRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmissionFactorCache emissionFactorCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emissionFactorCache = new EmissionFactorCache(carbonFactorRepository, meterRegistry);
+    }
+
+    @Test
+    void testFind_CountsAreRegisteredWithMicrometer() {
+        // Arrange
+        when(carbonFactorRepository.getFactorsVersion()).thenReturn("v1");
+        when(carbonFactorRepository.findAll()).thenReturn(List.of(factor("FOOD", "0.5")));
+
+        // Act
+        emissionFactorCache.find("FOOD");
+        emissionFactorCache.find("FOOD");
+        emissionFactorCache.find("UNKNOWN");
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("emission.factors.lookups").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("emission.factors.lookups").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("emission.factors.reloads").functionCounter().count());
+    }
+
+    @Test
+    void testReload_SlowerEarlierLoadDoesNotReplaceNewerSnapshot() throws Exception {
+        // Arrange: the first reload reads the old rows, then stalls until a second reload
+        // (e.g. reloadAfterCommit racing refreshIfChanged) has read and installed the new ones
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch secondInstalled = new CountDownLatch(1);
+        when(carbonFactorRepository.getFactorsVersion()).thenReturn("v1", "v2", "v2");
+        when(carbonFactorRepository.findAll())
+                .thenAnswer(invocation -> {
+                    firstReading.countDown();
+                    assertTrue(secondInstalled.await(5, TimeUnit.SECONDS));
+                    return List.of(factor("FOOD", "0.5"));
+                })
+                .thenReturn(List.of(factor("FOOD", "0.7")));
+
+        // Act
+        CompletableFuture<Void> first = CompletableFuture.runAsync(emissionFactorCache::reload);
+        assertTrue(firstReading.await(5, TimeUnit.SECONDS));
+        emissionFactorCache.reload();
+        secondInstalled.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        emissionFactorCache.refreshIfChanged();
+
+        // Assert
+        assertEquals(new BigDecimal("0.7"), emissionFactorCache.getSnapshot().get("FOOD"));
+        assertEquals(1, emissionFactorCache.getReloadCount());
+        verify(carbonFactorRepository, times(2)).findAll();
+    }
+
+    private static CarbonFactor factor(String category, String emissionFactor) {
+        return CarbonFactor.builder()
+                .category(category)
+                .emissionFactor(new BigDecimal(emissionFactor))
+                .build();
+    }
+}
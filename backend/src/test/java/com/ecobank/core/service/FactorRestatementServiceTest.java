@@ -0,0 +1,140 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.entity.FactorRestatementJob;
+import com.ecobank.core.entity.FactorRestatementJob.Status;
+import com.ecobank.core.repository.FactorRestatementChunkRepository.RestatedChunk;
+import com.ecobank.core.repository.FactorRestatementJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FactorRestatementServiceTest {
+
+    @Mock
+    private FactorRestatementJobRepository jobRepository;
+
+    @Mock
+    private CarbonCalculatorService carbonCalculatorService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserStatsCache userStatsCache;
+
+    @InjectMocks
+    private FactorRestatementService restatementService;
+
+    private FactorRestatementJob job;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(restatementService, "chunkSize", 2);
+        job = FactorRestatementJob.builder()
+                .id(UUID.randomUUID())
+                .category("TRANSPORT")
+                .emissionFactor(new BigDecimal("2.5000"))
+                .totalRows(3L)
+                .build();
+    }
+
+    @Test
+    void testStartRestatement_CapturesCurrentFactorAndRowCount() {
+        // Arrange
+        OffsetDateTime from = OffsetDateTime.parse("2026-01-01T00:00:00Z");
+        when(carbonCalculatorService.getCurrentEmissionFactor("TRANSPORT")).thenReturn(new BigDecimal("2.5000"));
+        when(jobRepository.countRestatable("TRANSPORT", new BigDecimal("2.5000"), from, null)).thenReturn(42L);
+        when(jobRepository.save(any(FactorRestatementJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        FactorRestatementJob started = restatementService.startRestatement("transport", from, null);
+
+        // Assert
+        assertEquals("TRANSPORT", started.getCategory());
+        assertEquals(new BigDecimal("2.5000"), started.getEmissionFactor());
+        assertEquals(42L, started.getTotalRows());
+        assertEquals(Status.PENDING, started.getStatus());
+        assertThrows(RuntimeException.class, () -> restatementService.startRestatement("transport", from, from));
+    }
+
+    @Test
+    void testProcessNextStep_AdvancesCursorUntilAShortChunk() {
+        // Arrange
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(jobRepository.lockUnfinished(job.getId())).thenReturn(Optional.of(job));
+        when(jobRepository.restateChunk(job, 2))
+                .thenReturn(new RestatedChunk(2, second))
+                .thenReturn(new RestatedChunk(1, third));
+
+        // Act
+        boolean moreAfterFirst = restatementService.processNextStep(job.getId());
+        UUID cursorAfterFirst = job.getCursorId();
+        boolean moreAfterSecond = restatementService.processNextStep(job.getId());
+
+        // Assert
+        assertTrue(moreAfterFirst);
+        assertEquals(second, cursorAfterFirst);
+        assertTrue(moreAfterSecond);
+        assertEquals(third, job.getCursorId());
+        assertEquals(3L, job.getRowsUpdated());
+        assertEquals(Status.RESCORING, job.getStatus());
+        assertEquals(1.0, job.getProgress());
+        verify(jobRepository, times(2)).save(job);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void testProcessNextStep_RescoresAffectedUsersInPagesThenCompletes() {
+        // Arrange
+        job.setStatus(Status.RESCORING);
+        List<UUID> firstPage = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> lastPage = List.of(UUID.randomUUID());
+        when(jobRepository.lockUnfinished(job.getId())).thenReturn(Optional.of(job));
+        when(jobRepository.findAffectedUserIds(job.getId(), 2)).thenReturn(firstPage).thenReturn(lastPage);
+
+        // Act
+        boolean moreAfterFirst = restatementService.processNextStep(job.getId());
+        boolean moreAfterLast = restatementService.processNextStep(job.getId());
+
+        // Assert
+        assertTrue(moreAfterFirst);
+        assertFalse(moreAfterLast);
+        firstPage.forEach(userId -> verify(userService).updateUserEcoScore(userId));
+        lastPage.forEach(userId -> verify(userService).updateUserEcoScore(userId));
+        verify(jobRepository).deleteAffectedUsers(job.getId(), firstPage);
+        verify(jobRepository).deleteAffectedUsers(job.getId(), lastPage);
+        assertEquals(3, job.getUsersRescored());
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertNotNull(job.getCompletedAt());
+        verify(jobRepository, never()).restateChunk(any(), anyInt());
+    }
+
+    @Test
+    void testProcessNextStep_SkipsJobLockedByAnotherWorker() {
+        // Arrange
+        when(jobRepository.lockUnfinished(job.getId())).thenReturn(Optional.empty());
+
+        // Act
+        boolean more = restatementService.processNextStep(job.getId());
+
+        // Assert
+        assertFalse(more);
+        verify(jobRepository, never()).restateChunk(any(), anyInt());
+        verify(jobRepository, never()).save(any());
+    }
+}
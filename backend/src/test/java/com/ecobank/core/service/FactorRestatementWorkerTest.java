@@ -0,0 +1,86 @@
+package com.ecobank.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FactorRestatementWorkerTest {
+
+    @Mock
+    private FactorRestatementService restatementService;
+
+    @InjectMocks
+    private FactorRestatementWorker worker;
+
+    private UUID jobId;
+
+    @BeforeEach
+    void setUp() {
+        jobId = UUID.randomUUID();
+    }
+
+    @Test
+    void testStep_RunsOneStepPerTickAndPollsOnlyBetweenJobs() {
+        // Arrange
+        when(restatementService.findUnfinishedJobIds()).thenReturn(List.of(jobId));
+        when(restatementService.processNextStep(jobId)).thenReturn(true, true, false);
+
+        // Act
+        for (int tick = 0; tick < 5; tick++) {
+            worker.step();
+        }
+
+        // Assert: three steps, then no new poll until the poll interval has passed
+        verify(restatementService, times(3)).processNextStep(jobId);
+        verify(restatementService, times(1)).findUnfinishedJobIds();
+    }
+
+    @Test
+    void testStep_FailedStepMarksJobAndMovesOn() {
+        // Arrange
+        UUID nextJobId = UUID.randomUUID();
+        RuntimeException failure = new RuntimeException("deadlock detected");
+        when(restatementService.findUnfinishedJobIds()).thenReturn(List.of(jobId, nextJobId));
+        when(restatementService.processNextStep(jobId)).thenThrow(failure);
+        when(restatementService.processNextStep(nextJobId)).thenReturn(false);
+
+        // Act
+        worker.step();
+        worker.step();
+
+        // Assert
+        verify(restatementService).markFailed(jobId, failure);
+        verify(restatementService).processNextStep(nextJobId);
+    }
+
+    @Test
+    void testStep_TransientErrorResumesJobWithoutFailingIt() {
+        // Arrange
+        ReflectionTestUtils.setField(worker, "pollIntervalMs", 0L);
+        when(restatementService.findUnfinishedJobIds()).thenReturn(List.of(jobId));
+        when(restatementService.processNextStep(jobId))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenReturn(false);
+
+        // Act
+        worker.step();
+        worker.step();
+
+        // Assert: polled again and resumed, never marked failed
+        verify(restatementService, times(2)).processNextStep(jobId);
+        verify(restatementService, times(2)).findUnfinishedJobIds();
+        verify(restatementService, never()).markFailed(any(), any());
+    }
+}
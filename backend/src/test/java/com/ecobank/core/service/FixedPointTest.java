@@ -0,0 +1,67 @@
+package com.ecobank.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property tests: for random inputs across the value ranges of the schema (and beyond, to
+ * reach the BigDecimal fallback) every fixed-point result is bit-identical to the BigDecimal
+ * expression it replaces. Seeds are fixed so a failure reproduces.
+ */
+class FixedPointTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void testPercentage_MatchesBigDecimalForRandomInputs() {
+        SplittableRandom random = new SplittableRandom(23);
+        for (int i = 0; i < SAMPLES; i++) {
+            long total = random.nextLong(1, pow10(random.nextInt(1, 18)));
+            long part = random.nextInt(10) == 0 ? random.nextLong(-total, 2 * total) : random.nextLong(0, total + 1);
+
+            BigDecimal expected = BigDecimal.valueOf(part, 2)
+                    .divide(BigDecimal.valueOf(total, 2), 4, RoundingMode.HALF_UP)
+                    .multiply(new BigDecimal("100"));
+            assertEquals(Float.floatToIntBits(expected.floatValue()),
+                    Float.floatToIntBits(FixedPoint.percentage(part, total)), part + " / " + total);
+        }
+    }
+
+    @Test
+    void testDivideHalfUp_MatchesRoundingModeHalfUp() {
+        SplittableRandom random = new SplittableRandom(29);
+        for (int i = 0; i < SAMPLES; i++) {
+            long dividend = random.nextLong();
+            long divisor = random.nextLong(1, Long.MAX_VALUE) / pow10(random.nextInt(0, 19));
+            divisor = Math.max(divisor, 1);
+
+            long expected = BigDecimal.valueOf(dividend)
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+            assertEquals(expected, FixedPoint.divideHalfUp(dividend, divisor), dividend + " / " + divisor);
+        }
+    }
+
+    @Test
+    void testToFixed_RejectsValuesWithoutExactLongForm() {
+        assertEquals(1234, FixedPoint.toFixed(new BigDecimal("12.34"), 2));
+        assertEquals(1200, FixedPoint.toFixed(new BigDecimal("12"), 2));
+        assertEquals(120_000, FixedPoint.toFixed(new BigDecimal("1.2E+3"), 2));
+        assertEquals(FixedPoint.NOT_REPRESENTABLE, FixedPoint.toFixed(new BigDecimal("12.345"), 2));
+        assertEquals(FixedPoint.NOT_REPRESENTABLE, FixedPoint.toFixed(new BigDecimal("1E+30"), 2));
+        assertEquals(FixedPoint.NOT_REPRESENTABLE, FixedPoint.toFixed(BigDecimal.valueOf(Long.MAX_VALUE), 2));
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
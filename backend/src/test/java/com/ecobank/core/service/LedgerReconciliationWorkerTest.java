@@ -0,0 +1,61 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.LedgerReconciliationReport;
+import com.ecobank.core.service.CarbonLedgerService.ReconciledChunk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerReconciliationWorkerTest {
+
+    @Mock
+    private CarbonLedgerService carbonLedgerService;
+
+    @InjectMocks
+    private LedgerReconciliationWorker worker;
+
+    @Test
+    void testReconcile_WalksChunksByUserAndSumsReports() {
+        // Arrange
+        UUID first = new UUID(0, 0);
+        UUID endOfFirstChunk = UUID.randomUUID();
+        UUID endOfSecondChunk = UUID.randomUUID();
+        when(carbonLedgerService.reconcileChunk(first))
+                .thenReturn(Optional.of(new ReconciledChunk(endOfFirstChunk, report(10, 1, "2.50"))));
+        when(carbonLedgerService.reconcileChunk(endOfFirstChunk))
+                .thenReturn(Optional.of(new ReconciledChunk(endOfSecondChunk, report(4, 0, "0.00"))));
+        when(carbonLedgerService.reconcileChunk(endOfSecondChunk)).thenReturn(Optional.empty());
+
+        // Act
+        LedgerReconciliationReport report = worker.reconcile();
+
+        // Assert
+        assertEquals(14, report.getRowsChecked());
+        assertEquals(1, report.getDriftedRows());
+        assertEquals(2, report.getEmptyRows());
+        assertEquals(0, new BigDecimal("2.50").compareTo(report.getTotalCarbonDrift()));
+        verify(carbonLedgerService, times(3)).reconcileChunk(any(UUID.class));
+    }
+
+    private static LedgerReconciliationReport report(int rowsChecked, int drifted, String carbonDrift) {
+        return LedgerReconciliationReport.builder()
+                .rowsChecked(rowsChecked)
+                .driftedRows(drifted)
+                .missingRows(0)
+                .orphanedRows(0)
+                .emptyRows(1)
+                .totalCarbonDrift(new BigDecimal(carbonDrift))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.CarbonUpdate;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionEventBusTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventBus = new TransactionEventBus(meterRegistry, 4);
+    }
+
+    @Test
+    void testPublish_FansOutToThousandsOfSubscribersPerUser() {
+        // Arrange
+        int userCount = 500;
+        int subscribersPerUser = 10;
+        List<UUID> userIds = new ArrayList<>();
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger misrouted = new AtomicInteger();
+        List<Disposable> subscriptions = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            UUID userId = UUID.randomUUID();
+            userIds.add(userId);
+            for (int j = 0; j < subscribersPerUser; j++) {
+                subscriptions.add(eventBus.subscribeTransactionsCreated(userId).subscribe(t -> {
+                    received.incrementAndGet();
+                    if (!t.getUser().getId().equals(userId)) {
+                        misrouted.incrementAndGet();
+                    }
+                }));
+            }
+        }
+
+        // Act
+        for (UUID userId : userIds) {
+            eventBus.publish(userId, List.of(transactionFor(userId)), null);
+        }
+
+        // Assert
+        assertEquals(userCount * subscribersPerUser, eventBus.getSubscriberCount());
+        assertEquals(userCount * subscribersPerUser, received.get());
+        assertEquals(0, misrouted.get());
+        assertEquals(userCount, meterRegistry.get("graphql.subscription.events.published")
+                .tag("topic", "transactionCreated").counter().count());
+
+        subscriptions.forEach(Disposable::dispose);
+        assertEquals(0, eventBus.getSubscriberCount());
+        assertFalse(eventBus.hasCarbonSubscribers(userIds.get(0)));
+    }
+
+    @Test
+    void testPublish_SlowSubscriberDropsOldest() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        List<Integer> delivered = new ArrayList<>();
+        BaseSubscriber<CarbonUpdate> slow = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // No demand until the test asks for it
+            }
+
+            @Override
+            protected void hookOnNext(CarbonUpdate update) {
+                delivered.add(update.getEcoScore());
+            }
+        };
+        eventBus.subscribeCarbonUpdates(userId).subscribe(slow);
+
+        // Act
+        for (int score = 1; score <= 10; score++) {
+            eventBus.publish(userId, List.of(), CarbonUpdate.builder().userId(userId).ecoScore(score).build());
+        }
+        slow.request(Long.MAX_VALUE);
+
+        // Assert
+        assertEquals(List.of(7, 8, 9, 10), delivered);
+        assertEquals(6.0, eventBus.getDroppedCount());
+        assertEquals(6.0, meterRegistry.get("graphql.subscription.events.dropped")
+                .tag("topic", "carbonFootprintUpdated").counter().count());
+        slow.dispose();
+    }
+
+    @Test
+    void testPublish_WithoutSubscribersIsANoOp() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+
+        // Act
+        eventBus.publish(userId, List.of(transactionFor(userId)), CarbonUpdate.builder().userId(userId).build());
+
+        // Assert
+        assertFalse(eventBus.hasCarbonSubscribers(userId));
+        assertEquals(0.0, meterRegistry.get("graphql.subscription.events.published")
+                .tag("topic", "carbonFootprintUpdated").counter().count());
+
+        List<CarbonUpdate> delivered = new ArrayList<>();
+        Disposable subscription = eventBus.subscribeCarbonUpdates(userId).subscribe(delivered::add);
+        assertTrue(eventBus.hasCarbonSubscribers(userId));
+        eventBus.publish(userId, List.of(), CarbonUpdate.builder().userId(userId).totalCarbon(BigDecimal.ONE).build());
+        subscription.dispose();
+
+        assertEquals(1, delivered.size());
+        assertEquals(BigDecimal.ONE, delivered.get(0).getTotalCarbon());
+        assertFalse(eventBus.hasCarbonSubscribers(userId));
+    }
+
+    @Test
+    void testPublish_FailedEmitIsCountedSeparately() throws Exception {
+        // Arrange: a channel whose sink has no subscribers, as when the last subscriber
+        // leaves between the channel lookup and the emit
+        UUID userId = UUID.randomUUID();
+        Object topic = ReflectionTestUtils.getField(eventBus, "carbonUpdates");
+        @SuppressWarnings("unchecked")
+        Map<UUID, Object> channels = (Map<UUID, Object>) ReflectionTestUtils.getField(topic, "channels");
+        Constructor<?> channel = Class.forName(TransactionEventBus.class.getName() + "$Channel")
+                .getDeclaredConstructor();
+        channel.setAccessible(true);
+        channels.put(userId, channel.newInstance());
+
+        // Act
+        eventBus.publish(userId, List.of(), CarbonUpdate.builder().userId(userId).build());
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("graphql.subscription.events.published")
+                .tag("topic", "carbonFootprintUpdated").counter().count());
+        assertEquals(1.0, meterRegistry.get("graphql.subscription.events.failed")
+                .tag("topic", "carbonFootprintUpdated").tag("result", "FAIL_ZERO_SUBSCRIBER").counter().count());
+    }
+
+    private Transaction transactionFor(UUID userId) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(userId).build())
+                .build();
+    }
+}
@@ -0,0 +1,430 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.Dashboard;
+import com.ecobank.core.dto.MonthlySummary;
+import com.ecobank.core.dto.TransactionConnection;
+import com.ecobank.core.dto.TransactionInput;
+import com.ecobank.core.entity.CarbonFactor;
+import com.ecobank.core.entity.MonthlyCarbonLedger;
+import com.ecobank.core.entity.Transaction;
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.CarbonFactorRepository;
+import com.ecobank.core.repository.MonthlyCarbonLedgerRepository;
+import com.ecobank.core.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CarbonFactorRepository carbonFactorRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BlockchainService blockchainService;
+
+    @Mock
+    private CarbonLedgerService carbonLedgerService;
+
+    @Mock
+    private TransactionEventBus transactionEventBus;
+
+    @Mock
+    private UserStatsCache userStatsCache;
+
+    private EmissionFactorCache emissionFactorCache;
+    private TransactionService transactionService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        emissionFactorCache = new EmissionFactorCache(carbonFactorRepository, new SimpleMeterRegistry());
+        CarbonCalculatorService carbonCalculatorService =
+                new CarbonCalculatorService(carbonFactorRepository, emissionFactorCache);
+        transactionService = new TransactionService(
+                transactionRepository, userService, carbonCalculatorService, blockchainService, carbonLedgerService,
+                transactionEventBus, userStatsCache);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .build();
+    }
+
+    @Test
+    void testCreateTransaction_NoFactorQueriesAfterStartup() {
+        // Arrange
+        when(carbonFactorRepository.findAll()).thenReturn(List.of(
+                CarbonFactor.builder().category("FOOD").emissionFactor(new BigDecimal("0.5")).build(),
+                CarbonFactor.builder().category("TRANSPORT").emissionFactor(new BigDecimal("2.1")).build()));
+        when(userService.getCurrentUserReference()).thenReturn(user);
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        emissionFactorCache.onApplicationReady();
+
+        // Act
+        int n = 500;
+        for (int i = 0; i < n; i++) {
+            TransactionInput input = new TransactionInput();
+            input.setAmount(new BigDecimal("10.00"));
+            input.setCategory(i % 2 == 0 ? "FOOD" : "TRANSPORT");
+            Transaction transaction = transactionService.createTransaction(input);
+            assertNotNull(transaction.getCarbonFootprint());
+        }
+
+        // Assert
+        verify(carbonFactorRepository, times(1)).findAll();
+        verify(carbonFactorRepository, never()).findByCategory(anyString());
+        verify(transactionRepository, times(n)).save(any(Transaction.class));
+        verify(carbonLedgerService, times(n)).recordTransaction(any(Transaction.class));
+        assertEquals(n, emissionFactorCache.getHitCount());
+        assertEquals(0, emissionFactorCache.getMissCount());
+    }
+
+    @Test
+    void testGetMonthlyHistoricalCarbon_SingleQueryZeroFilled() {
+        // Arrange
+        YearMonth current = YearMonth.now();
+        YearMonth previous = current.minusMonths(1);
+        YearMonth oldest = current.minusMonths(35);
+        when(carbonLedgerService.getCarbonByMonth(user.getId(), oldest, current))
+                .thenReturn(Map.of(
+                        current, new BigDecimal("12.50"),
+                        previous, new BigDecimal("7.25"),
+                        oldest, new BigDecimal("1.00")));
+
+        // Act
+        List<BigDecimal> history = transactionService.getMonthlyHistoricalCarbon(user.getId(), 36);
+
+        // Assert
+        assertEquals(36, history.size());
+        assertEquals(new BigDecimal("1.00"), history.get(0));
+        assertEquals(new BigDecimal("7.25"), history.get(34));
+        assertEquals(new BigDecimal("12.50"), history.get(35));
+        assertEquals(BigDecimal.ZERO, history.get(17));
+        verify(carbonLedgerService, times(1)).getCarbonByMonth(user.getId(), oldest, current);
+        verify(transactionRepository, never()).getMonthlyCarbonByUserId(any(), any(), any());
+    }
+
+    @Test
+    void testCarbonReads_ShareTheLedgerFallback() throws NoSuchMethodException {
+        // Stats and history read through MonthlyCarbonLedgerRepository; the dashboard must
+        // build its months from the same CTE or they disagree on a month missing from the ledger
+        String fallback = MonthlyCarbonLedgerRepository.LEDGER_WITH_FALLBACK;
+
+        for (Method method : List.of(
+                TransactionRepository.class.getMethod("getDashboardRows", UUID.class, int.class, int.class),
+                MonthlyCarbonLedgerRepository.class.getMethod("getCarbonByMonth", UUID.class, int.class, int.class),
+                MonthlyCarbonLedgerRepository.class.getMethod("getTotalCarbonByUserId", UUID.class))) {
+            Query query = method.getAnnotation(Query.class);
+            assertTrue(query.value().startsWith("WITH " + fallback), method.getName());
+        }
+    }
+
+    @Test
+    void testGetMonthlyHistoricalCarbon_RejectsOutOfRangeWindow() {
+        assertThrows(RuntimeException.class,
+                () -> transactionService.getMonthlyHistoricalCarbon(user.getId(), 0));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testGetMonthlySummary_ServedFromLedger() {
+        // Arrange
+        when(carbonLedgerService.getMonth(user.getId(), YearMonth.of(2026, 3))).thenReturn(Optional.of(
+                MonthlyCarbonLedger.builder()
+                        .userId(user.getId())
+                        .year(2026)
+                        .month(3)
+                        .totalCarbon(new BigDecimal("120.00"))
+                        .totalAmount(new BigDecimal("400.00"))
+                        .transactionCount(40_000)
+                        .build()));
+
+        // Act
+        MonthlySummary summary = transactionService.getMonthlySummary(user.getId(), 2026, 3);
+
+        // Assert
+        assertEquals(new BigDecimal("120.00"), summary.getTotalCarbon());
+        assertEquals(new BigDecimal("400.00"), summary.getTotalAmount());
+        assertEquals(40_000, summary.getTransactionCount());
+        assertEquals(new BigDecimal("0.00"), summary.getAverageCarbonPerTransaction());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testGetMonthlySummary_FallsBackToRangeAggregate() {
+        // Arrange
+        when(carbonLedgerService.getMonth(user.getId(), YearMonth.of(2025, 12))).thenReturn(Optional.empty());
+        when(transactionRepository.getTotalsByUserIdBetween(eq(user.getId()), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("9.00"), new BigDecimal("30.00"), 3L}));
+
+        // Act
+        MonthlySummary summary = transactionService.getMonthlySummary(user.getId(), 2025, 12);
+
+        // Assert
+        assertEquals(new BigDecimal("9.00"), summary.getTotalCarbon());
+        assertEquals(3, summary.getTransactionCount());
+        assertEquals(new BigDecimal("3.00"), summary.getAverageCarbonPerTransaction());
+        verify(transactionRepository).getTotalsByUserIdBetween(eq(user.getId()),
+                argThat(start -> YearMonth.from(start).equals(YearMonth.of(2025, 12)) && start.getDayOfMonth() == 1
+                        && start.getHour() == 0),
+                argThat(end -> YearMonth.from(end).equals(YearMonth.of(2026, 1)) && end.getDayOfMonth() == 1));
+        assertThrows(RuntimeException.class, () -> transactionService.getMonthlySummary(user.getId(), 2025, 13));
+    }
+
+    @Test
+    void testGetDashboard_SingleStatement() {
+        // Arrange
+        YearMonth current = YearMonth.now();
+        YearMonth previous = current.minusMonths(1);
+        when(transactionRepository.getDashboardRows(eq(user.getId()), anyInt(), anyInt())).thenReturn(List.of(
+                new Object[]{"USER", null, new BigDecimal("100.00"), null, 75L},
+                new Object[]{"TOTAL", null, new BigDecimal("250.00"), null, null},
+                new Object[]{"MONTH", String.valueOf(current.getYear() * 100 + current.getMonthValue()),
+                        new BigDecimal("40.00"), null, null},
+                new Object[]{"MONTH", String.valueOf(previous.getYear() * 100 + previous.getMonthValue()),
+                        new BigDecimal("10.00"), null, null},
+                new Object[]{"CATEGORY", "FOOD", new BigDecimal("30.00"), new BigDecimal("60.00"), 4L},
+                new Object[]{"CATEGORY", "TRAVEL", new BigDecimal("10.00"), new BigDecimal("5.00"), 1L}));
+
+        // Act
+        Dashboard dashboard = transactionService.getDashboard(user.getId(), 12);
+
+        // Assert
+        assertEquals(new BigDecimal("250.00"), dashboard.getStats().getTotalCarbon());
+        assertEquals(new BigDecimal("40.00"), dashboard.getStats().getMonthlyCarbon());
+        assertEquals(0.4f, dashboard.getStats().getCarbonPercentage());
+        assertEquals(75, dashboard.getStats().getEcoScore());
+        assertEquals(2, dashboard.getCategoryBreakdown().size());
+        assertEquals(75f, dashboard.getCategoryBreakdown().get(0).getPercentage());
+        assertEquals(12, dashboard.getMonthlyHistoricalCarbon().size());
+        assertEquals(40.0, dashboard.getMonthlyHistoricalCarbon().get(11));
+        assertEquals(10.0, dashboard.getMonthlyHistoricalCarbon().get(10));
+        assertEquals(0.0, dashboard.getMonthlyHistoricalCarbon().get(0));
+
+        int currentIndex = current.getYear() * 12 + current.getMonthValue() - 1;
+        verify(transactionRepository, times(1)).getDashboardRows(user.getId(), currentIndex - 11, currentIndex);
+        verifyNoMoreInteractions(transactionRepository);
+        verifyNoInteractions(userService, carbonLedgerService);
+    }
+
+    @Test
+    void testGetDashboard_UnknownUser() {
+        when(transactionRepository.getDashboardRows(eq(user.getId()), anyInt(), anyInt()))
+                .thenReturn(List.<Object[]>of(new Object[]{"TOTAL", null, BigDecimal.ZERO, null, null}));
+
+        assertThrows(RuntimeException.class, () -> transactionService.getDashboard(user.getId(), 12));
+    }
+
+    @Test
+    void testUpdateTransaction_AppliesLedgerDelta() {
+        // Arrange
+        when(carbonFactorRepository.findAll()).thenReturn(List.of(
+                CarbonFactor.builder().category("FOOD").emissionFactor(new BigDecimal("0.5")).build()));
+        Transaction existing = Transaction.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .amount(new BigDecimal("10.00"))
+                .category("FOOD")
+                .carbonFootprint(new BigDecimal("5.00"))
+                .transactionDate(OffsetDateTime.now())
+                .build();
+        when(transactionRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(userService.getCurrentUserId()).thenReturn(user.getId());
+
+        TransactionInput input = new TransactionInput();
+        input.setAmount(new BigDecimal("30.00"));
+
+        // Act
+        Transaction updated = transactionService.updateTransaction(existing.getId(), input);
+
+        // Assert
+        assertEquals(new BigDecimal("15.00"), updated.getCarbonFootprint());
+        verify(carbonLedgerService).adjustTransaction(updated, new BigDecimal("5.00"), new BigDecimal("10.00"));
+        verify(userService).updateUserEcoScore(user.getId());
+    }
+
+    @Test
+    void testCreateTransaction_PublishesCarbonUpdateOnlyWithSubscribers() {
+        // Arrange
+        when(carbonFactorRepository.findAll()).thenReturn(List.of(
+                CarbonFactor.builder().category("FOOD").emissionFactor(new BigDecimal("0.5")).build()));
+        when(userService.getCurrentUserReference()).thenReturn(user);
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        user.setMonthlyCarbonBudget(new BigDecimal("100.00"));
+        user.setEcoScore(80);
+        when(userService.getUserById(user.getId())).thenReturn(user);
+        when(carbonLedgerService.getMonthlyCarbon(eq(user.getId()), any(YearMonth.class)))
+                .thenReturn(new BigDecimal("5.00"));
+        when(carbonLedgerService.getTotalCarbon(user.getId())).thenReturn(new BigDecimal("42.00"));
+
+        TransactionInput input = new TransactionInput();
+        input.setAmount(new BigDecimal("10.00"));
+        input.setCategory("FOOD");
+
+        // Act
+        Transaction unobserved = transactionService.createTransaction(input);
+        when(transactionEventBus.hasCarbonSubscribers(user.getId())).thenReturn(true);
+        Transaction observed = transactionService.createTransaction(input);
+
+        // Assert
+        verify(transactionEventBus).publishAfterCommit(user.getId(), List.of(unobserved), null);
+        verify(transactionEventBus).publishAfterCommit(eq(user.getId()), eq(List.of(observed)), argThat(update ->
+                update.getTotalCarbon().equals(new BigDecimal("42.00"))
+                        && update.getMonthlyCarbon().equals(new BigDecimal("5.00"))
+                        && update.getEcoScore() == 80));
+        verify(carbonLedgerService, times(1)).getTotalCarbon(user.getId());
+    }
+
+    @Test
+    void testDeleteTransaction_RemovesFromLedger() {
+        // Arrange
+        Transaction existing = Transaction.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .amount(new BigDecimal("10.00"))
+                .carbonFootprint(new BigDecimal("5.00"))
+                .transactionDate(OffsetDateTime.now())
+                .build();
+        when(transactionRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+        when(userService.getCurrentUserId()).thenReturn(user.getId());
+
+        // Act
+        transactionService.deleteTransaction(existing.getId());
+
+        // Assert
+        verify(carbonLedgerService).removeTransaction(existing);
+        verify(userService).updateUserEcoScore(user.getId());
+        verify(transactionRepository, never()).getTotalCarbonByUserId(any());
+    }
+
+    @Test
+    void testCreateTransactions_ResolvesSharedStateOncePerBatch() {
+        // Arrange
+        when(carbonFactorRepository.findAll()).thenReturn(List.of(
+                CarbonFactor.builder().category("FOOD").emissionFactor(new BigDecimal("0.5")).build()));
+        when(userService.getCurrentUserReference()).thenReturn(user);
+
+        List<TransactionInput> inputs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            TransactionInput input = new TransactionInput();
+            input.setAmount(new BigDecimal("10.00"));
+            input.setCategory(i % 2 == 0 ? "food" : "UNKNOWN");
+            inputs.add(input);
+        }
+
+        // Act
+        List<Transaction> created = transactionService.createTransactions(inputs);
+
+        // Assert
+        assertEquals(1000, created.size());
+        assertEquals(new BigDecimal("5.00"), created.get(0).getCarbonFootprint());
+        assertEquals(new BigDecimal("5.00"), created.get(1).getCarbonFootprint());
+        verify(userService, times(1)).getCurrentUserReference();
+        verify(carbonFactorRepository, times(1)).findAll();
+        verify(transactionRepository, times(1)).insertInBatches(created);
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(carbonLedgerService, times(1)).recordTransactions(created);
+        verify(userService, times(1)).updateUserEcoScore(user.getId());
+    }
+
+    @Test
+    void testCreateTransactions_RejectsOversizedBatch() {
+        List<TransactionInput> inputs = Collections.nCopies(10_001, new TransactionInput());
+
+        assertThrows(RuntimeException.class, () -> transactionService.createTransactions(inputs));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testGetUserTransactionsConnection_KeysetPaging() {
+        // Arrange
+        OffsetDateTime base = OffsetDateTime.parse("2026-05-01T12:00:00Z");
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(Transaction.builder()
+                    .id(UUID.randomUUID())
+                    .user(user)
+                    .transactionDate(base.minusDays(i))
+                    .build());
+        }
+        when(transactionRepository.findPageByUserId(eq(user.getId()), any())).thenReturn(rows);
+
+        // Act
+        TransactionConnection firstPage = transactionService.getUserTransactionsConnection(user.getId(), 2, null);
+
+        // Assert
+        assertEquals(2, firstPage.getEdges().size());
+        assertTrue(firstPage.getPageInfo().getHasNextPage());
+        assertEquals(firstPage.getEdges().get(1).getCursor(), firstPage.getPageInfo().getEndCursor());
+
+        // Arrange
+        Transaction lastSeen = rows.get(1);
+        when(transactionRepository.findPageByUserIdAfter(
+                eq(user.getId()), eq(lastSeen.getTransactionDate()), eq(lastSeen.getId()), any()))
+                .thenReturn(List.of(rows.get(2)));
+
+        // Act
+        TransactionConnection secondPage = transactionService.getUserTransactionsConnection(
+                user.getId(), 2, firstPage.getPageInfo().getEndCursor());
+
+        // Assert
+        assertEquals(1, secondPage.getEdges().size());
+        assertSame(rows.get(2), secondPage.getEdges().get(0).getNode());
+        assertFalse(secondPage.getPageInfo().getHasNextPage());
+    }
+
+    @Test
+    void testGetUserTransactionsConnection_RejectsInvalidCursor() {
+        assertThrows(RuntimeException.class,
+                () -> transactionService.getUserTransactionsConnection(user.getId(), 10, "not-a-cursor"));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testStatsCacheLoaders_RunOnThePrimary() throws Exception {
+        // Read-only transactions go to the replica, whose lag UserStatsCache would keep
+        for (String method : List.of("getCarbonStats", "getCategoryBreakdownList")) {
+            Transactional transactional = TransactionService.class.getMethod(method, UUID.class)
+                    .getAnnotation(Transactional.class);
+            assertNotNull(transactional, method);
+            assertFalse(transactional.readOnly(), method);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.entity.User;
+import com.ecobank.core.repository.UserRepository;
+import com.ecobank.core.security.PrincipalCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CarbonLedgerService carbonLedgerService;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private UserStatsCache userStatsCache;
+
+    @InjectMocks
+    private UserService userService;
+
+    @Test
+    void testUpdatePasswordHash_EvictsCachedPrincipalAfterCommit() {
+        // Arrange
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .passwordHash("old-hash")
+                .build();
+
+        // Act
+        userService.updatePasswordHash(user, "new-hash");
+
+        // Assert
+        assertEquals("new-hash", user.getPasswordHash());
+        InOrder inOrder = inOrder(userRepository, principalCache);
+        inOrder.verify(userRepository).updatePasswordHash(user.getId(), "new-hash");
+        inOrder.verify(principalCache).invalidateAfterCommit("test@example.com");
+    }
+}
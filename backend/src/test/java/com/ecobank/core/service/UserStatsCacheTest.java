@@ -0,0 +1,108 @@
+package com.ecobank.core.service;
+
+import com.ecobank.core.dto.CarbonStats;
+import com.ecobank.core.dto.CategoryBreakdown;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserStatsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserStatsCache userStatsCache;
+
+    private UUID userId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userStatsCache = new UserStatsCache(meterRegistry, 100);
+        userId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGetCarbonStats_LoadsOnceThenServesFromCache() {
+        // Act
+        CarbonStats first = userStatsCache.getCarbonStats(userId, loader("10.00"));
+        CarbonStats second = userStatsCache.getCarbonStats(userId, loader("99.00"));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(0.5, userStatsCache.getHitRate());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "carbon-stats").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testInvalidateAfterCommit_OnlyMovesThatUserAfterCommit() {
+        // Arrange
+        UUID otherUserId = UUID.randomUUID();
+        userStatsCache.getCarbonStats(userId, loader("10.00"));
+        userStatsCache.getCarbonStats(otherUserId, loader("20.00"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        userStatsCache.invalidateAfterCommit(userId);
+        CarbonStats beforeCommit = userStatsCache.getCarbonStats(userId, loader("11.00"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        CarbonStats afterCommit = userStatsCache.getCarbonStats(userId, loader("11.00"));
+        CarbonStats other = userStatsCache.getCarbonStats(otherUserId, loader("21.00"));
+
+        // Assert
+        assertEquals(new BigDecimal("10.00"), beforeCommit.getTotalCarbon());
+        assertEquals(new BigDecimal("11.00"), afterCommit.getTotalCarbon());
+        assertEquals(new BigDecimal("20.00"), other.getTotalCarbon());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testInvalidateAll_ReloadsEveryUser() {
+        // Arrange
+        userStatsCache.getCategoryBreakdown(userId, () -> {
+            loads.incrementAndGet();
+            return List.of(CategoryBreakdown.builder().category("FOOD").build());
+        });
+
+        // Act
+        userStatsCache.invalidateAllAfterCommit();
+        List<CategoryBreakdown> reloaded = userStatsCache.getCategoryBreakdown(userId, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // Assert
+        assertTrue(reloaded.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<CarbonStats> loader(String totalCarbon) {
+        return () -> {
+            loads.incrementAndGet();
+            return CarbonStats.builder()
+                    .userId(userId)
+                    .totalCarbon(new BigDecimal(totalCarbon))
+                    .build();
+        };
+    }
+}
@@ -48,11 +48,81 @@ CREATE TABLE IF NOT EXISTS transactions (
     merchant VARCHAR(255),
     description TEXT,
     carbon_footprint DECIMAL(15,2) NOT NULL,
-    transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    transaction_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Keyset pagination seeks on (transaction_date, id), which never matches a NULL date;
+-- tables created before the constraint take the row's creation time
+UPDATE transactions SET transaction_date = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE transaction_date IS NULL;
+ALTER TABLE transactions ALTER COLUMN transaction_date SET NOT NULL;
+
+-- Monthly carbon ledger (per-user running totals maintained on every write)
+CREATE TABLE IF NOT EXISTS monthly_carbon_ledger (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    period_year INTEGER NOT NULL,
+    period_month INTEGER NOT NULL,
+    total_carbon DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_amount DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    transaction_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (user_id, period_year, period_month)
+);
+
+-- Blockchain anchors (one Merkle root per batch of transactions). A batch is stored
+-- before it is sent; ledger_reference stays NULL until the ledger accepts the root.
+CREATE TABLE IF NOT EXISTS blockchain_anchors (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    merkle_root VARCHAR(64) UNIQUE NOT NULL,
+    leaf_count INTEGER NOT NULL,
+    ledger_reference VARCHAR(255),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Anchor outbox (written with each transaction, drained by the anchor worker).
+-- No foreign key to transactions: anchored leaves are kept as proof material
+-- even if the transaction is later deleted.
+CREATE TABLE IF NOT EXISTS anchor_outbox (
+    transaction_id UUID PRIMARY KEY,
+    leaf_hash VARCHAR(64) NOT NULL,
+    anchor_id UUID REFERENCES blockchain_anchors(id),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Emission factor restatements (progress is committed per chunk, so jobs resume after a restart)
+CREATE TABLE IF NOT EXISTS factor_restatement_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    category VARCHAR(50) NOT NULL,
+    emission_factor DECIMAL(10,4) NOT NULL,
+    from_date TIMESTAMP,
+    to_date TIMESTAMP,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'RUNNING', 'RESCORING', 'COMPLETED', 'FAILED')),
+    cursor_id UUID,
+    total_rows BIGINT NOT NULL DEFAULT 0,
+    rows_updated BIGINT NOT NULL DEFAULT 0,
+    users_rescored INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Users whose footprints a restatement changed, removed as their eco scores are recomputed
+CREATE TABLE IF NOT EXISTS factor_restatement_users (
+    job_id UUID NOT NULL REFERENCES factor_restatement_jobs(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    PRIMARY KEY (job_id, user_id)
+);
+
 -- ============================================================================
 -- 2. CREATE INDEXES FOR PERFORMANCE
 -- ============================================================================
@@ -61,9 +131,19 @@ CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_users_created_at ON users(created_at);
 CREATE INDEX IF NOT EXISTS idx_transactions_user_id ON transactions(user_id);
 CREATE INDEX IF NOT EXISTS idx_transactions_category ON transactions(category);
+CREATE INDEX IF NOT EXISTS idx_transactions_category_upper_id ON transactions(UPPER(category), id);
 CREATE INDEX IF NOT EXISTS idx_transactions_date ON transactions(transaction_date);
-CREATE INDEX IF NOT EXISTS idx_transactions_user_date ON transactions(user_id, transaction_date DESC);
+-- id breaks ties in keyset pagination, which seeks on (transaction_date, id) descending
+DROP INDEX IF EXISTS idx_transactions_user_date;
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id ON transactions(user_id, transaction_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category_date_id
+    ON transactions(user_id, category, transaction_date DESC, id DESC);
 CREATE INDEX IF NOT EXISTS idx_carbon_factors_category ON carbon_factors(category);
+CREATE INDEX IF NOT EXISTS idx_anchor_outbox_pending ON anchor_outbox(created_at) WHERE anchor_id IS NULL;
+CREATE INDEX IF NOT EXISTS idx_blockchain_anchors_unsubmitted ON blockchain_anchors(next_attempt_at) WHERE ledger_reference IS NULL;
+CREATE INDEX IF NOT EXISTS idx_anchor_outbox_anchor_id ON anchor_outbox(anchor_id);
+CREATE INDEX IF NOT EXISTS idx_factor_restatement_jobs_unfinished ON factor_restatement_jobs(created_at)
+    WHERE status IN ('PENDING', 'RUNNING', 'RESCORING');
 
 -- ============================================================================
 -- 3. INSERT CARBON FACTORS (14 Categories)
@@ -148,7 +228,29 @@ VALUES
     ('a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11'::uuid, 65.00, 'USD', 'ENTERTAINMENT', 'Movie Theater', 'Movie tickets', 39.00, CURRENT_TIMESTAMP - INTERVAL '55 days');
 
 -- ============================================================================
--- 6. VERIFICATION QUERIES
+-- 6. BUILD MONTHLY CARBON LEDGER
+-- ============================================================================
+-- Rebuilds running totals from existing transactions (safe to re-run)
+
+INSERT INTO monthly_carbon_ledger (user_id, period_year, period_month, total_carbon, total_amount, transaction_count)
+SELECT
+    user_id,
+    EXTRACT(YEAR FROM transaction_date)::int,
+    EXTRACT(MONTH FROM transaction_date)::int,
+    SUM(carbon_footprint),
+    SUM(amount),
+    COUNT(*)
+FROM transactions
+WHERE transaction_date IS NOT NULL
+GROUP BY user_id, EXTRACT(YEAR FROM transaction_date), EXTRACT(MONTH FROM transaction_date)
+ON CONFLICT (user_id, period_year, period_month) DO UPDATE SET
+    total_carbon = EXCLUDED.total_carbon,
+    total_amount = EXCLUDED.total_amount,
+    transaction_count = EXCLUDED.transaction_count,
+    updated_at = CURRENT_TIMESTAMP;
+
+-- ============================================================================
+-- 7. VERIFICATION QUERIES
 -- ============================================================================
 
 -- Verify carbon factors
@@ -104,3 +104,27 @@ class CategoryBreakdown {
     );
   }
 }
+
+class Dashboard {
+  final CarbonStats stats;
+  final List<CategoryBreakdown> categoryBreakdown;
+  final List<double> monthlyHistoricalCarbon;
+
+  Dashboard({
+    required this.stats,
+    required this.categoryBreakdown,
+    required this.monthlyHistoricalCarbon,
+  });
+
+  factory Dashboard.fromJson(Map<String, dynamic> json) {
+    return Dashboard(
+      stats: CarbonStats.fromJson(json['stats'] as Map<String, dynamic>),
+      categoryBreakdown: (json['categoryBreakdown'] as List)
+          .map((item) => CategoryBreakdown.fromJson(item))
+          .toList(),
+      monthlyHistoricalCarbon: (json['monthlyHistoricalCarbon'] as List)
+          .map((value) => (value as num).toDouble())
+          .toList(),
+    );
+  }
+}
@@ -1,4 +1,5 @@
 import 'dart:convert';
+import 'package:crypto/crypto.dart';
 import 'package:http/http.dart' as http;
 import 'package:greenpay/core/services/token_storage_service.dart';
 
@@ -15,6 +16,10 @@ class GraphQLService {
 
   final TokenStorageService _tokenStorage = TokenStorageService.instance;
 
+  // SHA-256 of each query text, and the hashes the server has confirmed it knows
+  final Map<String, String> _queryHashes = {};
+  final Set<String> _registeredHashes = {};
+
   Future<Map<String, dynamic>> query(String query,
       {Map<String, dynamic>? variables}) async {
     return await _executeRequest(query, variables);
@@ -39,19 +44,21 @@ class GraphQLService {
          print('DEBUG GRAPHQL: Authorization header set.');
       }
 
-      final body = json.encode({
-        'query': query,
-        if (variables != null && variables.isNotEmpty) 'variables': variables,
-      });
+      final hash = _queryHashes.putIfAbsent(
+          query, () => sha256.convert(utf8.encode(query)).toString());
 
-      final response = await http.post(
-        Uri.parse(_endpoint),
-        headers: headers,
-        body: body,
-      );
+      // Send only the hash once the server has the query, and the text
+      // along with it the first time or after the server has evicted it
+      var response = await _post(headers, hash,
+          _registeredHashes.contains(hash) ? null : query, variables);
+      if (_isPersistedQueryNotFound(response)) {
+        _registeredHashes.remove(hash);
+        response = await _post(headers, hash, query, variables);
+      }
 
       if (response.statusCode == 200) {
         final responseData = json.decode(response.body) as Map<String, dynamic>;
+        _registeredHashes.add(hash);
 
         if (responseData.containsKey('errors')) {
           final errors = responseData['errors'] as List;
@@ -68,4 +75,30 @@ class GraphQLService {
       rethrow;
     }
   }
+
+  Future<http.Response> _post(Map<String, String> headers, String hash,
+      String? query, Map<String, dynamic>? variables) {
+    final body = json.encode({
+      if (query != null) 'query': query,
+      if (variables != null && variables.isNotEmpty) 'variables': variables,
+      'extensions': {
+        'persistedQuery': {'version': 1, 'sha256Hash': hash},
+      },
+    });
+
+    return http.post(
+      Uri.parse(_endpoint),
+      headers: headers,
+      body: body,
+    );
+  }
+
+  bool _isPersistedQueryNotFound(http.Response response) {
+    if (response.statusCode != 200) {
+      return false;
+    }
+    final errors = (json.decode(response.body) as Map<String, dynamic>)['errors'];
+    return errors is List &&
+        errors.any((error) => error['message'] == 'PersistedQueryNotFound');
+  }
 }
@@ -83,6 +83,30 @@ class TransactionService {
     }
   ''';
 
+  // Get dashboard query (stats, breakdown and history in one request)
+  static const String getDashboardQuery = r'''
+    query GetDashboard($userId: UUID!) {
+      getDashboard(userId: $userId) {
+        stats {
+          userId
+          totalCarbon
+          monthlyCarbon
+          carbonBudget
+          carbonPercentage
+          ecoScore
+        }
+        categoryBreakdown {
+          category
+          totalCarbon
+          totalAmount
+          transactionCount
+          percentage
+        }
+        monthlyHistoricalCarbon
+      }
+    }
+  ''';
+
   // Update carbon budget mutation
   static const String updateCarbonBudgetMutation = r'''
     mutation UpdateBudget($budget: BigDecimal!) {
@@ -229,6 +253,24 @@ class TransactionService {
     }
   }
 
+  Future<Dashboard?> getDashboard(String userId) async {
+    try {
+      final result = await _graphQLService.query(
+        getDashboardQuery,
+        variables: {'userId': userId},
+      );
+
+      final dashboardData = result['data']?['getDashboard'];
+      if (dashboardData != null) {
+        return Dashboard.fromJson(dashboardData);
+      }
+
+      return null;
+    } catch (e) {
+      rethrow;
+    }
+  }
+
   Future<Map<String, dynamic>?> updateCarbonBudget(double budget) async {
     try {
       final result = await _graphQLService.mutate(
@@ -64,18 +64,16 @@ class DashboardProvider extends ChangeNotifier {
 
       // Load carbon stats
       if (userId != null) {
-        print('DEBUG: Loading carbon stats for user: $userId');
-        _carbonStats = await _transactionService.getCarbonStats(userId);
+        print('DEBUG: Loading dashboard for user: $userId');
+        final dashboard = await _transactionService.getDashboard(userId);
+        _carbonStats = dashboard?.stats;
+        _categoryBreakdown = dashboard?.categoryBreakdown ?? [];
         print('DEBUG: Carbon stats: ${_carbonStats?.monthlyCarbon}');
+        print('DEBUG: Loaded ${_categoryBreakdown.length} categories');
         
         print('DEBUG: Loading transactions for user: $userId');
         _transactions = await _transactionService.getUserTransactions(userId);
         print('DEBUG: Loaded ${_transactions.length} transactions');
-        
-        print('DEBUG: Loading category breakdown for user: $userId');
-        _categoryBreakdown =
-            await _transactionService.getCategoryBreakdown(userId);
-        print('DEBUG: Loaded ${_categoryBreakdown.length} categories');
       }
 
       _isLoading = false;
@@ -62,19 +62,14 @@ class ImpactProvider extends ChangeNotifier {
       // Load carbon stats - need userId from token storage
       final userId = await _getUserId();
       if (userId != null) {
-        final stats = await _transactionService.getCarbonStats(userId);
-        if (stats != null) {
-          _totalCarbon = stats.totalCarbon;
-          _monthlyCarbon = stats.monthlyCarbon;
+        // Stats, category breakdown and monthly history in one request
+        final dashboard = await _transactionService.getDashboard(userId);
+        if (dashboard != null) {
+          _totalCarbon = dashboard.stats.totalCarbon;
+          _monthlyCarbon = dashboard.stats.monthlyCarbon;
+          _categoryBreakdown = dashboard.categoryBreakdown;
+          _monthlyData = dashboard.monthlyHistoricalCarbon;
         }
-
-        // Load category breakdown
-        _categoryBreakdown =
-            await _transactionService.getCategoryBreakdown(userId);
-
-        // Load monthly historical data
-        _monthlyData =
-            await _transactionService.getMonthlyHistoricalCarbon(userId);
       }
     } catch (e) {
       // Ignore errors